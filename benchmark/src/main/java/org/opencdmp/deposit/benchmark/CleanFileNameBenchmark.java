@@ -0,0 +1,26 @@
+package org.opencdmp.deposit.benchmark;
+
+import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraFileNames;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CleanFileNameBenchmark {
+
+    @Param({"plan.pdf", "My Research Plan, final (v2).pdf", "Δεδομένα έρευνας - supporting files 2024-06-01.zip"})
+    public String fileName;
+
+    @Param({"1", "12"})
+    public int version;
+
+    @Benchmark
+    public String cleanFileName() {
+        return FedoraFileNames.cleanFileName(this.fileName, this.version);
+    }
+}
@@ -0,0 +1,122 @@
+package org.opencdmp.deposit.benchmark;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import org.opencdmp.deposit.fedorarepository.service.depositjob.DepositJobProperties;
+import org.opencdmp.deposit.fedorarepository.service.depositjob.DepositJobServiceImpl;
+import org.opencdmp.deposit.fedorarepository.service.depositjob.InMemoryDepositJobStore;
+import org.opencdmp.deposit.fedorarepository.service.fedora.DepositPhase;
+import org.opencdmp.deposit.fedorarepository.service.fedora.DepositProgressListener;
+import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraDepositService;
+import org.opencdmp.deposit.fedorarepository.service.fedora.RepositoryLogo;
+import org.opencdmp.depositbase.repository.DepositConfiguration;
+import org.opencdmp.depositbase.repository.PlanDepositModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class DepositJobBenchmark {
+
+    public enum Threads {
+        Platform,
+        Virtual
+    }
+
+    @Param({"Platform", "Virtual"})
+    public Threads threads;
+
+    @Param({"100", "1000"})
+    public int jobs;
+
+    @Param({"50"})
+    public long fedoraLatencyMillis;
+
+    private DepositJobServiceImpl depositJobService;
+    private volatile CountDownLatch completed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of("spring.threads.virtual.enabled", this.threads == Threads.Virtual)));
+
+        DepositJobProperties properties = new DepositJobProperties();
+        properties.setQueueCapacity(this.jobs);
+        properties.setVirtualThreadMaxInFlight(this.jobs);
+
+        this.depositJobService = new DepositJobServiceImpl(new StubFedoraDepositService(), new InMemoryDepositJobStore(), properties,
+                Bulkhead.of("benchmark", BulkheadConfig.custom().maxConcurrentCalls(this.jobs).build()), environment);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.depositJobService.destroy();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetLatch() {
+        this.completed = new CountDownLatch(this.jobs);
+    }
+
+    @Benchmark
+    public void drainDeposits() throws InterruptedException {
+        // time until every submitted deposit has been through the stubbed Fedora round trips
+        for (int i = 0; i < this.jobs; i++) this.depositJobService.submit(new PlanDepositModel());
+        this.completed.await();
+    }
+
+    // blocks the job thread on a delayed Mono for each remote phase, the same way the real service blocks on WebClient calls
+    private class StubFedoraDepositService implements FedoraDepositService {
+
+        @Override
+        public String deposit(PlanDepositModel planDepositModel) {
+            return this.deposit(planDepositModel, DepositProgressListener.NONE);
+        }
+
+        @Override
+        public String deposit(PlanDepositModel planDepositModel, DepositProgressListener listener) {
+            try {
+                Duration latency = Duration.ofMillis(DepositJobBenchmark.this.fedoraLatencyMillis);
+                Mono.delay(latency).block();
+                listener.onPhase(DepositPhase.MetadataCreated);
+                Mono.delay(latency).block();
+                listener.onPhase(DepositPhase.FilesUploaded);
+                return UUID.randomUUID().toString();
+            } finally {
+                DepositJobBenchmark.this.completed.countDown();
+            }
+        }
+
+        @Override
+        public DepositConfiguration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public String authenticate(String code) {
+            return null;
+        }
+
+        @Override
+        public String getLogo() {
+            return null;
+        }
+
+        @Override
+        public RepositoryLogo getLogoEntry() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.opencdmp.deposit.benchmark;
+
+import org.opencdmp.commonmodels.enums.FieldType;
+import org.opencdmp.commonmodels.models.plan.PlanModel;
+import org.opencdmp.deposit.fedorarepository.configuration.semantics.SemanticsProperties;
+import org.opencdmp.deposit.fedorarepository.model.builder.DublinCoreStatements;
+import org.opencdmp.deposit.fedorarepository.model.builder.FedoraBuilder;
+import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraServiceProperties;
+import org.opencdmp.deposit.fedorarepository.service.fedora.MetadataSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FedoraBuilderBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int descriptions;
+
+    @Param({"10", "100"})
+    public int fieldsPerTemplate;
+
+    @Param({"1", "5"})
+    public int valuesPerField;
+
+    @Param({"FREE_TEXT"})
+    public FieldType fieldType;
+
+    @Param({"Jena", "Direct"})
+    public MetadataSerializer serializer;
+
+    @Param({"true", "false"})
+    public boolean cachedSemantics;
+
+    private FedoraBuilder fedoraBuilder;
+    private PlanModel planModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PlanModelGenerator generator = new PlanModelGenerator();
+
+        FedoraServiceProperties fedoraServiceProperties = new FedoraServiceProperties();
+        fedoraServiceProperties.setDomain("https://opencdmp.example.org/");
+        fedoraServiceProperties.setMetadataSerializer(this.serializer);
+
+        SemanticsProperties semanticsProperties = generator.semanticsProperties();
+
+        this.fedoraBuilder = new FedoraBuilder(fedoraServiceProperties, semanticsProperties,
+                new InMemorySemanticsCaches.DescriptionTemplates(this.cachedSemantics),
+                new InMemorySemanticsCaches.PlanBlueprints(this.cachedSemantics));
+        // a handful of templates shared across descriptions, as in typical plans
+        this.planModel = generator.generate(this.descriptions, 3, this.fieldsPerTemplate, this.valuesPerField, this.fieldType);
+    }
+
+    @Benchmark
+    public String build() {
+        return this.fedoraBuilder.build(this.planModel);
+    }
+
+    @Benchmark
+    public DublinCoreStatements applySemantics() {
+        DublinCoreStatements statements = new DublinCoreStatements();
+        this.fedoraBuilder.applySemantics(this.planModel, statements);
+        return statements;
+    }
+}
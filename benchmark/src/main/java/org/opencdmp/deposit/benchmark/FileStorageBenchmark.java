@@ -0,0 +1,96 @@
+package org.opencdmp.deposit.benchmark;
+
+import org.opencdmp.deposit.fedorarepository.service.storage.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FileStorageBenchmark {
+
+    private static final int PAGE_SIZE = 4096;
+
+    public enum Implementation {
+        Stream,
+        Channel
+    }
+
+    @Param({"Stream", "Channel"})
+    public Implementation type;
+
+    @Param({"1048576", "67108864", "1073741824"})
+    public int size;
+
+    private Path root;
+    private FileStorageService storageService;
+    private byte[] payload;
+    private String fileRef;
+    private String storedRef;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.root = Files.createTempDirectory("file-storage-benchmark");
+        Path shared = Files.createDirectories(this.root.resolve("shared"));
+        Path temp = Files.createDirectories(this.root.resolve("tmp"));
+        FileStorageServiceProperties properties = new FileStorageServiceProperties(temp.toString(), shared.toString(), false,
+                new FileStorageServiceProperties.Sweeper(1440, 0, 10, 1000, 10));
+        this.storageService = this.type == Implementation.Channel ? new ChannelFileStorageServiceImpl(properties) : new FileStorageServiceImpl(properties);
+
+        this.payload = new byte[this.size];
+        new SplittableRandom(42).nextBytes(this.payload);
+        this.fileRef = this.storageService.storeFile(this.payload);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(path);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteStored() throws IOException {
+        if (this.storedRef == null) return;
+        Path path = this.storageService.resolveFile(this.storedRef);
+        if (path != null) Files.deleteIfExists(path);
+        this.storedRef = null;
+    }
+
+    @Benchmark
+    public void storeFile() {
+        this.storedRef = this.storageService.storeFile(this.payload);
+    }
+
+    @Benchmark
+    public byte[] readFile() {
+        return this.storageService.readFile(this.fileRef);
+    }
+
+    @Benchmark
+    public void readFileBuffers(Blackhole blackhole) {
+        // touch one byte per page so lazily mapped regions are actually faulted in
+        this.storageService.readFileBuffers(this.fileRef).doOnNext(buffer -> {
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer byteBuffer = iterator.next();
+                    for (int i = byteBuffer.position(); i < byteBuffer.limit(); i += PAGE_SIZE) blackhole.consume(byteBuffer.get(i));
+                }
+            }
+        }).doOnNext(DataBufferUtils::release).then().block();
+    }
+}
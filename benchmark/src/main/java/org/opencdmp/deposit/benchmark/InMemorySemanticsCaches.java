@@ -0,0 +1,65 @@
+package org.opencdmp.deposit.benchmark;
+
+import org.opencdmp.deposit.fedorarepository.cache.DescriptionTemplateSemanticsCacheOptions;
+import org.opencdmp.deposit.fedorarepository.cache.DescriptionTemplateSemanticsCacheService;
+import org.opencdmp.deposit.fedorarepository.cache.PlanBlueprintSemanticsCacheOptions;
+import org.opencdmp.deposit.fedorarepository.cache.PlanBlueprintSemanticsCacheService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class InMemorySemanticsCaches {
+
+    public static class DescriptionTemplates extends DescriptionTemplateSemanticsCacheService {
+
+        private final boolean enabled;
+        private final Map<String, DescriptionTemplateSemanticsCacheValue> values = new HashMap<>();
+
+        public DescriptionTemplates(boolean enabled) {
+            super(new DescriptionTemplateSemanticsCacheOptions());
+            this.enabled = enabled;
+        }
+
+        @Override
+        public String buildKey(UUID descriptionTemplateId) {
+            return descriptionTemplateId.toString();
+        }
+
+        @Override
+        public DescriptionTemplateSemanticsCacheValue lookup(String key) {
+            return this.enabled ? this.values.get(key) : null;
+        }
+
+        @Override
+        public void put(String key, DescriptionTemplateSemanticsCacheValue value) {
+            if (this.enabled) this.values.put(key, value);
+        }
+    }
+
+    public static class PlanBlueprints extends PlanBlueprintSemanticsCacheService {
+
+        private final boolean enabled;
+        private final Map<String, PlanBlueprintSemanticsCacheValue> values = new HashMap<>();
+
+        public PlanBlueprints(boolean enabled) {
+            super(new PlanBlueprintSemanticsCacheOptions());
+            this.enabled = enabled;
+        }
+
+        @Override
+        public String buildKey(UUID planBlueprintId) {
+            return planBlueprintId.toString();
+        }
+
+        @Override
+        public PlanBlueprintSemanticsCacheValue lookup(String key) {
+            return this.enabled ? this.values.get(key) : null;
+        }
+
+        @Override
+        public void put(String key, PlanBlueprintSemanticsCacheValue value) {
+            if (this.enabled) this.values.put(key, value);
+        }
+    }
+}
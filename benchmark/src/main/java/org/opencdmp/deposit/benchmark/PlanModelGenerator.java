@@ -0,0 +1,198 @@
+package org.opencdmp.deposit.benchmark;
+
+import org.opencdmp.commonmodels.enums.FieldType;
+import org.opencdmp.commonmodels.enums.PlanAccessType;
+import org.opencdmp.commonmodels.models.PlanUserModel;
+import org.opencdmp.commonmodels.models.UserModel;
+import org.opencdmp.commonmodels.models.description.DescriptionModel;
+import org.opencdmp.commonmodels.models.description.PropertyDefinitionFieldSetItemModel;
+import org.opencdmp.commonmodels.models.description.PropertyDefinitionFieldSetModel;
+import org.opencdmp.commonmodels.models.description.PropertyDefinitionModel;
+import org.opencdmp.commonmodels.models.descriptiotemplate.*;
+import org.opencdmp.commonmodels.models.descriptiotemplate.fielddata.BaseFieldDataModel;
+import org.opencdmp.commonmodels.models.descriptiotemplate.fielddata.LabelDataModel;
+import org.opencdmp.commonmodels.models.descriptiotemplate.fielddata.RadioBoxDataModel;
+import org.opencdmp.commonmodels.models.descriptiotemplate.fielddata.SelectDataModel;
+import org.opencdmp.commonmodels.models.plan.PlanModel;
+import org.opencdmp.commonmodels.models.reference.ReferenceModel;
+import org.opencdmp.commonmodels.models.reference.ReferenceTypeModel;
+import org.opencdmp.deposit.fedorarepository.configuration.semantics.SemanticsProperties;
+
+import java.time.Instant;
+import java.util.*;
+
+public class PlanModelGenerator {
+
+    private static final List<String> SEMANTICS = List.of(
+            "fedora.creator", "fedora.subject", "fedora.description", "fedora.publisher", "fedora.contributor",
+            "fedora.type", "fedora.format", "fedora.identifier", "fedora.source", "fedora.language",
+            "fedora.relation", "fedora.coverage", "fedora.rights"
+    );
+
+    private final Random random = new Random(42);
+
+    public SemanticsProperties semanticsProperties() {
+        List<SemanticsProperties.PathName> available = new ArrayList<>();
+        for (String semantic : SEMANTICS) {
+            SemanticsProperties.PathName pathName = new SemanticsProperties.PathName();
+            pathName.setName(semantic);
+            available.add(pathName);
+        }
+        SemanticsProperties semanticsProperties = new SemanticsProperties();
+        semanticsProperties.setAvailable(available);
+        return semanticsProperties;
+    }
+
+    public PlanModel generate(int descriptions, int templates, int fieldsPerTemplate, int valuesPerField, FieldType fieldType) {
+        List<DescriptionTemplateModel> descriptionTemplates = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, templates); i++) descriptionTemplates.add(this.descriptionTemplate(fieldsPerTemplate, valuesPerField, fieldType));
+
+        PlanModel planModel = new PlanModel();
+        planModel.setId(UUID.randomUUID());
+        planModel.setLabel("Benchmark plan \"" + descriptions + "\"");
+        planModel.setDescription("Synthetic plan used by the deposit benchmarks");
+        planModel.setAccessType(PlanAccessType.Public);
+        planModel.setUsers(this.users(3));
+
+        List<DescriptionModel> descriptionModels = new ArrayList<>();
+        for (int i = 0; i < descriptions; i++) {
+            DescriptionTemplateModel template = descriptionTemplates.get(i % descriptionTemplates.size());
+            DescriptionModel descriptionModel = new DescriptionModel();
+            descriptionModel.setDescriptionTemplate(template);
+            descriptionModel.setProperties(this.properties(template, valuesPerField, fieldType));
+            descriptionModels.add(descriptionModel);
+        }
+        planModel.setDescriptions(descriptionModels);
+        return planModel;
+    }
+
+    private List<PlanUserModel> users(int count) {
+        List<PlanUserModel> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UserModel user = new UserModel();
+            user.setName("User " + i);
+            PlanUserModel planUser = new PlanUserModel();
+            planUser.setUser(user);
+            users.add(planUser);
+        }
+        return users;
+    }
+
+    private DescriptionTemplateModel descriptionTemplate(int fieldsPerTemplate, int valuesPerField, FieldType fieldType) {
+        List<FieldModel> fields = new ArrayList<>();
+        for (int i = 0; i < fieldsPerTemplate; i++) {
+            FieldModel field = new FieldModel();
+            field.setId("field_" + i);
+            // roughly a third of the fields carry a semantic, as in real templates
+            if (i % 3 == 0) field.setSemantics(List.of(SEMANTICS.get(i % SEMANTICS.size())));
+            field.setData(this.fieldData(fieldType, valuesPerField));
+            fields.add(field);
+        }
+
+        FieldSetModel fieldSet = new FieldSetModel();
+        fieldSet.setId("fieldset_0");
+        fieldSet.setFields(fields);
+
+        SectionModel section = new SectionModel();
+        section.setId("section_0");
+        section.setFieldSets(List.of(fieldSet));
+
+        PageModel page = new PageModel();
+        page.setId("page_0");
+        page.setSections(List.of(section));
+
+        DefinitionModel definition = new DefinitionModel();
+        definition.setPages(List.of(page));
+
+        DescriptionTemplateModel template = new DescriptionTemplateModel();
+        template.setId(UUID.randomUUID());
+        template.setDefinition(definition);
+        return template;
+    }
+
+    private BaseFieldDataModel fieldData(FieldType fieldType, int options) {
+        switch (fieldType) {
+            case SELECT -> {
+                SelectDataModel data = new SelectDataModel();
+                List<SelectDataModel.OptionModel> optionModels = new ArrayList<>();
+                for (int i = 0; i < options; i++) {
+                    SelectDataModel.OptionModel option = new SelectDataModel.OptionModel();
+                    option.setLabel("Option " + i);
+                    option.setValue("option_" + i);
+                    optionModels.add(option);
+                }
+                data.setOptions(optionModels);
+                data.setFieldType(fieldType);
+                return data;
+            }
+            case RADIO_BOX -> {
+                RadioBoxDataModel data = new RadioBoxDataModel();
+                List<RadioBoxDataModel.RadioBoxOptionModel> optionModels = new ArrayList<>();
+                for (int i = 0; i < options; i++) {
+                    RadioBoxDataModel.RadioBoxOptionModel option = new RadioBoxDataModel.RadioBoxOptionModel();
+                    option.setLabel("Option " + i);
+                    option.setValue("option_" + i);
+                    optionModels.add(option);
+                }
+                data.setOptions(optionModels);
+                data.setFieldType(fieldType);
+                return data;
+            }
+            default -> {
+                LabelDataModel data = new LabelDataModel();
+                data.setFieldType(fieldType);
+                return data;
+            }
+        }
+    }
+
+    private PropertyDefinitionModel properties(DescriptionTemplateModel template, int valuesPerField, FieldType fieldType) {
+        Map<String, org.opencdmp.commonmodels.models.description.FieldModel> values = new HashMap<>();
+        for (FieldModel field : template.getDefinition().getAllField()) {
+            values.put(field.getId(), this.value(fieldType, valuesPerField));
+        }
+
+        PropertyDefinitionFieldSetItemModel item = new PropertyDefinitionFieldSetItemModel();
+        item.setFields(values);
+
+        PropertyDefinitionFieldSetModel fieldSet = new PropertyDefinitionFieldSetModel();
+        fieldSet.setItems(List.of(item));
+
+        PropertyDefinitionModel properties = new PropertyDefinitionModel();
+        properties.setFieldSets(Map.of("fieldset_0", fieldSet));
+        return properties;
+    }
+
+    private org.opencdmp.commonmodels.models.description.FieldModel value(FieldType fieldType, int valuesPerField) {
+        org.opencdmp.commonmodels.models.description.FieldModel value = new org.opencdmp.commonmodels.models.description.FieldModel();
+        List<String> textValues = new ArrayList<>();
+        for (int i = 0; i < valuesPerField; i++) textValues.add(fieldType == FieldType.SELECT || fieldType == FieldType.RADIO_BOX ? "option_" + i : "value " + this.random.nextInt(1000));
+
+        switch (fieldType) {
+            case BOOLEAN_DECISION, CHECK_BOX -> value.setBooleanValue(true);
+            case DATE_PICKER -> value.setDateValue(Instant.now());
+            case TAGS, SELECT, RADIO_BOX -> value.setTextListValue(textValues);
+            case REFERENCE_TYPES -> {
+                List<ReferenceModel> references = new ArrayList<>();
+                for (String textValue : textValues) {
+                    ReferenceTypeModel type = new ReferenceTypeModel();
+                    type.setCode("funder");
+                    org.opencdmp.commonmodels.models.reference.FieldModel referenceField = new org.opencdmp.commonmodels.models.reference.FieldModel();
+                    referenceField.setCode("label");
+                    referenceField.setValue(textValue);
+                    org.opencdmp.commonmodels.models.reference.DefinitionModel definition = new org.opencdmp.commonmodels.models.reference.DefinitionModel();
+                    definition.setFields(List.of(referenceField));
+
+                    ReferenceModel reference = new ReferenceModel();
+                    reference.setReference(textValue);
+                    reference.setType(type);
+                    reference.setDefinition(definition);
+                    references.add(reference);
+                }
+                value.setReferences(references);
+            }
+            default -> value.setTextValue(String.join(" ", textValues));
+        }
+        return value;
+    }
+}
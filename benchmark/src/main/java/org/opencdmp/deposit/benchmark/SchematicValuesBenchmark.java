@@ -0,0 +1,55 @@
+package org.opencdmp.deposit.benchmark;
+
+import org.opencdmp.commonmodels.enums.FieldType;
+import org.opencdmp.commonmodels.models.plan.PlanModel;
+import org.opencdmp.deposit.fedorarepository.configuration.semantics.SemanticsProperties;
+import org.opencdmp.deposit.fedorarepository.model.builder.DublinCoreStatements;
+import org.opencdmp.deposit.fedorarepository.model.builder.FedoraBuilder;
+import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraServiceProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// extractSchematicValues is private, so each field type is measured through applySemantics on a template made only of that type
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchematicValuesBenchmark {
+
+    @Param({"FREE_TEXT", "BOOLEAN_DECISION", "DATE_PICKER", "TAGS", "SELECT", "RADIO_BOX", "REFERENCE_TYPES"})
+    public FieldType fieldType;
+
+    @Param({"10"})
+    public int descriptions;
+
+    @Param({"50"})
+    public int fieldsPerTemplate;
+
+    @Param({"1", "10"})
+    public int valuesPerField;
+
+    private FedoraBuilder fedoraBuilder;
+    private PlanModel planModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PlanModelGenerator generator = new PlanModelGenerator();
+
+        SemanticsProperties semanticsProperties = generator.semanticsProperties();
+
+        this.fedoraBuilder = new FedoraBuilder(new FedoraServiceProperties(), semanticsProperties,
+                new InMemorySemanticsCaches.DescriptionTemplates(true),
+                new InMemorySemanticsCaches.PlanBlueprints(true));
+        this.planModel = generator.generate(this.descriptions, 1, this.fieldsPerTemplate, this.valuesPerField, this.fieldType);
+    }
+
+    @Benchmark
+    public DublinCoreStatements applySemantics() {
+        DublinCoreStatements statements = new DublinCoreStatements();
+        this.fedoraBuilder.applySemantics(this.planModel, statements);
+        return statements;
+    }
+}
@@ -0,0 +1,10 @@
+package org.opencdmp.deposit.fedorarepository.cache;
+
+import gr.cite.tools.cache.CacheOptions;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.description-template-semantics-by-id")
+public class DescriptionTemplateSemanticsCacheOptions extends CacheOptions {
+}
@@ -0,0 +1,65 @@
+package org.opencdmp.deposit.fedorarepository.cache;
+
+import gr.cite.tools.cache.CacheService;
+import org.opencdmp.deposit.fedorarepository.model.builder.DescriptionTemplateSemantics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+@Service
+public class DescriptionTemplateSemanticsCacheService extends CacheService<DescriptionTemplateSemanticsCacheService.DescriptionTemplateSemanticsCacheValue> {
+
+	public static class DescriptionTemplateSemanticsCacheValue {
+
+		public DescriptionTemplateSemanticsCacheValue() {
+		}
+
+		public DescriptionTemplateSemanticsCacheValue(UUID descriptionTemplateId, DescriptionTemplateSemantics semantics) {
+			this.descriptionTemplateId = descriptionTemplateId;
+			this.semantics = semantics;
+		}
+
+		private UUID descriptionTemplateId;
+
+		private DescriptionTemplateSemantics semantics;
+
+		public UUID getDescriptionTemplateId() {
+			return descriptionTemplateId;
+		}
+
+		public void setDescriptionTemplateId(UUID descriptionTemplateId) {
+			this.descriptionTemplateId = descriptionTemplateId;
+		}
+
+		public DescriptionTemplateSemantics getSemantics() {
+			return semantics;
+		}
+
+		public void setSemantics(DescriptionTemplateSemantics semantics) {
+			this.semantics = semantics;
+		}
+	}
+
+	@Autowired
+	public DescriptionTemplateSemanticsCacheService(DescriptionTemplateSemanticsCacheOptions options) {
+		super(options);
+	}
+
+	@Override
+	protected Class<DescriptionTemplateSemanticsCacheValue> valueClass() {
+		return DescriptionTemplateSemanticsCacheValue.class;
+	}
+
+	@Override
+	public String keyOf(DescriptionTemplateSemanticsCacheValue value) {
+		return this.buildKey(value.getDescriptionTemplateId());
+	}
+
+	public String buildKey(UUID descriptionTemplateId) {
+		HashMap<String, String> keyParts = new HashMap<>();
+		keyParts.put("$template$", descriptionTemplateId.toString());
+		return this.generateKey(keyParts);
+	}
+}
@@ -0,0 +1,85 @@
+package org.opencdmp.deposit.fedorarepository.cache;
+
+import gr.cite.tools.cache.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+
+@Service
+public class LogoCacheService extends CacheService<LogoCacheService.LogoCacheValue> {
+
+	public static class LogoCacheValue {
+
+		public LogoCacheValue() {
+		}
+
+		public LogoCacheValue(String repositoryId, String logoPath, String logo, String eTag) {
+			this.repositoryId = repositoryId;
+			this.logoPath = logoPath;
+			this.logo = logo;
+			this.eTag = eTag;
+		}
+
+		private String repositoryId;
+
+		private String logoPath;
+
+		private String logo;
+
+		private String eTag;
+
+		public String getRepositoryId() {
+			return repositoryId;
+		}
+
+		public void setRepositoryId(String repositoryId) {
+			this.repositoryId = repositoryId;
+		}
+
+		public String getLogoPath() {
+			return logoPath;
+		}
+
+		public void setLogoPath(String logoPath) {
+			this.logoPath = logoPath;
+		}
+
+		public String getLogo() {
+			return logo;
+		}
+
+		public void setLogo(String logo) {
+			this.logo = logo;
+		}
+
+		public String getETag() {
+			return eTag;
+		}
+
+		public void setETag(String eTag) {
+			this.eTag = eTag;
+		}
+	}
+
+	@Autowired
+	public LogoCacheService(LogoCacheOptions options) {
+		super(options);
+	}
+
+	@Override
+	protected Class<LogoCacheValue> valueClass() {
+		return LogoCacheValue.class;
+	}
+
+	@Override
+	public String keyOf(LogoCacheValue value) {
+		return this.buildKey(value.getRepositoryId());
+	}
+
+	public String buildKey(String repositoryId) {
+		HashMap<String, String> keyParts = new HashMap<>();
+		keyParts.put("$repo$", repositoryId);
+		return this.generateKey(keyParts);
+	}
+}
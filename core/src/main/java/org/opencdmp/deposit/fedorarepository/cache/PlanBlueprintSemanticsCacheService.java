@@ -0,0 +1,65 @@
+package org.opencdmp.deposit.fedorarepository.cache;
+
+import gr.cite.tools.cache.CacheService;
+import org.opencdmp.deposit.fedorarepository.model.builder.PlanBlueprintSemantics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+@Service
+public class PlanBlueprintSemanticsCacheService extends CacheService<PlanBlueprintSemanticsCacheService.PlanBlueprintSemanticsCacheValue> {
+
+	public static class PlanBlueprintSemanticsCacheValue {
+
+		public PlanBlueprintSemanticsCacheValue() {
+		}
+
+		public PlanBlueprintSemanticsCacheValue(UUID planBlueprintId, PlanBlueprintSemantics semantics) {
+			this.planBlueprintId = planBlueprintId;
+			this.semantics = semantics;
+		}
+
+		private UUID planBlueprintId;
+
+		private PlanBlueprintSemantics semantics;
+
+		public UUID getPlanBlueprintId() {
+			return planBlueprintId;
+		}
+
+		public void setPlanBlueprintId(UUID planBlueprintId) {
+			this.planBlueprintId = planBlueprintId;
+		}
+
+		public PlanBlueprintSemantics getSemantics() {
+			return semantics;
+		}
+
+		public void setSemantics(PlanBlueprintSemantics semantics) {
+			this.semantics = semantics;
+		}
+	}
+
+	@Autowired
+	public PlanBlueprintSemanticsCacheService(PlanBlueprintSemanticsCacheOptions options) {
+		super(options);
+	}
+
+	@Override
+	protected Class<PlanBlueprintSemanticsCacheValue> valueClass() {
+		return PlanBlueprintSemanticsCacheValue.class;
+	}
+
+	@Override
+	public String keyOf(PlanBlueprintSemanticsCacheValue value) {
+		return this.buildKey(value.getPlanBlueprintId());
+	}
+
+	public String buildKey(UUID planBlueprintId) {
+		HashMap<String, String> keyParts = new HashMap<>();
+		keyParts.put("$blueprint$", planBlueprintId.toString());
+		return this.generateKey(keyParts);
+	}
+}
@@ -0,0 +1,32 @@
+package org.opencdmp.deposit.fedorarepository.model.builder;
+
+import org.opencdmp.commonmodels.models.descriptiotemplate.DefinitionModel;
+import org.opencdmp.commonmodels.models.descriptiotemplate.FieldModel;
+
+import java.util.*;
+
+public class DescriptionTemplateSemantics {
+
+    private final Map<String, List<FieldModel>> fieldsBySemantic;
+
+    private DescriptionTemplateSemantics(Map<String, List<FieldModel>> fieldsBySemantic) {
+        this.fieldsBySemantic = fieldsBySemantic;
+    }
+
+    public static DescriptionTemplateSemantics compile(DefinitionModel definitionModel, Set<String> acceptedSemantics) {
+        Map<String, List<FieldModel>> fieldsBySemantic = new HashMap<>();
+        if (definitionModel == null) return new DescriptionTemplateSemantics(fieldsBySemantic);
+
+        for (FieldModel field : definitionModel.getAllField()) {
+            if (field == null || field.getSemantics() == null || field.getSemantics().isEmpty()) continue;
+            for (String semantic : new LinkedHashSet<>(field.getSemantics())) {
+                if (acceptedSemantics.contains(semantic)) fieldsBySemantic.computeIfAbsent(semantic, k -> new ArrayList<>()).add(field);
+            }
+        }
+        return new DescriptionTemplateSemantics(fieldsBySemantic);
+    }
+
+    public Map<String, List<FieldModel>> getFieldsBySemantic() {
+        return fieldsBySemantic;
+    }
+}
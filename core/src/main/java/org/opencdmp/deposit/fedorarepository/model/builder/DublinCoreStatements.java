@@ -0,0 +1,38 @@
+package org.opencdmp.deposit.fedorarepository.model.builder;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class DublinCoreStatements {
+
+    private final Map<Property, Set<String>> valuesByProperty = new LinkedHashMap<>();
+
+    public void add(Property property, String value) {
+        if (property == null || value == null) return;
+        this.valuesByProperty.computeIfAbsent(property, k -> new LinkedHashSet<>()).add(value);
+    }
+
+    public Map<Property, Set<String>> getValuesByProperty() {
+        return valuesByProperty;
+    }
+
+    public boolean isEmpty() {
+        return this.valuesByProperty.isEmpty();
+    }
+
+    public Model toModel() {
+        Model model = ModelFactory.createDefaultModel();
+        Resource resource = model.createResource("");
+        for (Map.Entry<Property, Set<String>> entry : this.valuesByProperty.entrySet()) {
+            for (String value : entry.getValue()) resource.addProperty(entry.getKey(), value);
+        }
+        return model;
+    }
+}
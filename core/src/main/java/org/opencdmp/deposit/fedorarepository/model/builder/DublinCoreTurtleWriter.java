@@ -0,0 +1,77 @@
+package org.opencdmp.deposit.fedorarepository.model.builder;
+
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.vocabulary.DC;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+public class DublinCoreTurtleWriter {
+
+    private static final String PREFIX = "dc";
+    private static final int PREDICATE_OVERHEAD = 16;
+    private static final int LITERAL_OVERHEAD = 5;
+
+    public static String write(DublinCoreStatements statements) {
+        StringBuilder builder = new StringBuilder(capacityOf(statements));
+        builder.append("@prefix ").append(PREFIX).append(": <").append(DC.getURI()).append("> .\n");
+        if (statements.isEmpty()) return builder.toString();
+
+        builder.append("\n<>");
+        Iterator<Map.Entry<Property, Set<String>>> entries = statements.getValuesByProperty().entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Property, Set<String>> entry = entries.next();
+            builder.append("\n        ");
+            appendPredicate(builder, entry.getKey());
+            builder.append(' ');
+
+            Iterator<String> values = entry.getValue().iterator();
+            while (values.hasNext()) {
+                appendLiteral(builder, values.next());
+                if (values.hasNext()) builder.append(" , ");
+            }
+            builder.append(entries.hasNext() ? " ;" : " .\n");
+        }
+        return builder.toString();
+    }
+
+    // escapes are rare in plan metadata, so raw value lengths plus fixed separators avoid any regrowth of the buffer in practice
+    private static int capacityOf(DublinCoreStatements statements) {
+        int capacity = PREFIX.length() + DC.getURI().length() + PREDICATE_OVERHEAD;
+        for (Map.Entry<Property, Set<String>> entry : statements.getValuesByProperty().entrySet()) {
+            capacity += PREDICATE_OVERHEAD + entry.getKey().getURI().length();
+            for (String value : entry.getValue()) capacity += LITERAL_OVERHEAD + value.length();
+        }
+        return capacity;
+    }
+
+    private static void appendPredicate(StringBuilder builder, Property property) {
+        if (DC.getURI().equals(property.getNameSpace())) {
+            builder.append(PREFIX).append(':').append(property.getLocalName());
+        } else {
+            builder.append('<').append(property.getURI()).append('>');
+        }
+    }
+
+    private static void appendLiteral(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                case '\b' -> builder.append("\\b");
+                case '\f' -> builder.append("\\f");
+                default -> {
+                    if (c < 0x20 || c == 0x7F) builder.append(String.format("\\u%04X", (int) c));
+                    else builder.append(c);
+                }
+            }
+        }
+        builder.append('"');
+    }
+}
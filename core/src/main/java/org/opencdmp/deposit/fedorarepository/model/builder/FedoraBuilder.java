@@ -6,16 +6,17 @@ import org.apache.jena.vocabulary.DC;
 import org.opencdmp.commonmodels.enums.PlanAccessType;
 import org.opencdmp.commonmodels.models.PlanUserModel;
 import org.opencdmp.commonmodels.models.description.*;
-import org.opencdmp.commonmodels.models.descriptiotemplate.DefinitionModel;
 import org.opencdmp.commonmodels.models.descriptiotemplate.fielddata.RadioBoxDataModel;
 import org.opencdmp.commonmodels.models.descriptiotemplate.fielddata.SelectDataModel;
 import org.opencdmp.commonmodels.models.plan.PlanBlueprintValueModel;
 import org.opencdmp.commonmodels.models.plan.PlanModel;
-import org.opencdmp.commonmodels.models.planblueprint.SectionModel;
 import org.opencdmp.commonmodels.models.reference.ReferenceModel;
+import org.opencdmp.deposit.fedorarepository.cache.DescriptionTemplateSemanticsCacheService;
+import org.opencdmp.deposit.fedorarepository.cache.PlanBlueprintSemanticsCacheService;
 import org.opencdmp.deposit.fedorarepository.configuration.semantics.SemanticsProperties;
 import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraDepositServiceImpl;
 import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraServiceProperties;
+import org.opencdmp.deposit.fedorarepository.service.fedora.MetadataSerializer;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -36,6 +37,8 @@ public class FedoraBuilder {
 
     private final FedoraServiceProperties fedoraServiceProperties;
     private final SemanticsProperties semanticsProperties;
+    private final DescriptionTemplateSemanticsCacheService descriptionTemplateSemanticsCacheService;
+    private final PlanBlueprintSemanticsCacheService planBlueprintSemanticsCacheService;
 
     private static final String SEMANTIC_CREATOR = "fedora.creator";
     private static final String SEMANTIC_SUBJECT = "fedora.subject";
@@ -51,67 +54,64 @@ public class FedoraBuilder {
     private static final String SEMANTIC_COVERAGE = "fedora.coverage";
     private static final String SEMANTIC_RIGHTS = "fedora.rights";
 
+    private static final Map<String, Property> SEMANTIC_PROPERTIES = Map.ofEntries(
+            Map.entry(SEMANTIC_CREATOR, DC.creator),
+            Map.entry(SEMANTIC_SUBJECT, DC.subject),
+            Map.entry(SEMANTIC_DESCRIPTION, DC.description),
+            Map.entry(SEMANTIC_PUBLISHER, DC.publisher),
+            Map.entry(SEMANTIC_CONTRIBUTOR, DC.contributor),
+            Map.entry(SEMANTIC_TYPE, DC.type),
+            Map.entry(SEMANTIC_FORMAT, DC.format),
+            Map.entry(SEMANTIC_IDENTIFIER, DC.identifier),
+            Map.entry(SEMANTIC_SOURCE, DC.source),
+            Map.entry(SEMANTIC_LANGUAGE, DC.language),
+            Map.entry(SEMANTIC_RELATION, DC.relation),
+            Map.entry(SEMANTIC_COVERAGE, DC.coverage),
+            Map.entry(SEMANTIC_RIGHTS, DC.rights)
+    );
+
     @Autowired
-    public FedoraBuilder(FedoraServiceProperties fedoraServiceProperties, SemanticsProperties semanticsProperties){
+    public FedoraBuilder(FedoraServiceProperties fedoraServiceProperties, SemanticsProperties semanticsProperties, DescriptionTemplateSemanticsCacheService descriptionTemplateSemanticsCacheService, PlanBlueprintSemanticsCacheService planBlueprintSemanticsCacheService){
             this.fedoraServiceProperties = fedoraServiceProperties;
         this.semanticsProperties = semanticsProperties;
+        this.descriptionTemplateSemanticsCacheService = descriptionTemplateSemanticsCacheService;
+        this.planBlueprintSemanticsCacheService = planBlueprintSemanticsCacheService;
     }
 
 
     public String build(PlanModel planModel){
 
         if (planModel == null) return null;
-        Model model = ModelFactory.createDefaultModel();
-        Resource resource = model.createResource("");
+        DublinCoreStatements statements = new DublinCoreStatements();
 
         DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
-        resource.addProperty(DC.date, df.format(new Date()));
-        resource.addProperty(DC.title, planModel.getLabel());
+        statements.add(DC.date, df.format(new Date()));
+        statements.add(DC.title, planModel.getLabel());
         
-        if(planModel.getAccessType().equals(PlanAccessType.Public)) resource.addProperty(DC.identifier, fedoraServiceProperties.getDomain() + "explore-plans/overview/public/" + planModel.getId().toString());
-        this.buildOwners(planModel, resource);
-        this.applySemantics(planModel, resource);
+        if(planModel.getAccessType().equals(PlanAccessType.Public)) statements.add(DC.identifier, fedoraServiceProperties.getDomain() + "explore-plans/overview/public/" + planModel.getId().toString());
+        this.buildOwners(planModel, statements);
+        this.applySemantics(planModel, statements);
+
+        if (this.fedoraServiceProperties.getMetadataSerializer() == MetadataSerializer.Direct) return DublinCoreTurtleWriter.write(statements);
 
         StringWriter writer = new StringWriter();
-        model.write(writer, "TURTLE");
+        statements.toModel().write(writer, "TURTLE");
         return writer.toString();
 
     }
 
-    public void buildOwners(PlanModel plan, Resource resource){
+    public void buildOwners(PlanModel plan, DublinCoreStatements statements){
         for (PlanUserModel planUser: plan.getUsers()) {
-           resource.addProperty(DC.creator, planUser.getUser().getName());
+           statements.add(DC.creator, planUser.getUser().getName());
         }
     }
 
 
-    private List<org.opencdmp.commonmodels.models.descriptiotemplate.FieldModel> findDescriptionSemanticValues(String relatedId, DefinitionModel definitionModel){
-        return definitionModel.getAllField().stream().filter(x-> x.getSemantics() != null && x.getSemantics().contains(relatedId)).toList();
-    }
-
-    private List<org.opencdmp.commonmodels.models.planblueprint.FieldModel> getFieldOfSemantic(PlanModel plan, String semanticKey){
-        List<org.opencdmp.commonmodels.models.planblueprint.FieldModel> fields = new ArrayList<>();
-        if (plan == null || plan.getPlanBlueprint() == null || plan.getPlanBlueprint().getDefinition() == null || plan.getPlanBlueprint().getDefinition().getSections() == null) return fields;
-        for (SectionModel sectionModel : plan.getPlanBlueprint().getDefinition().getSections()){
-            if (sectionModel.getFields() != null){
-                org.opencdmp.commonmodels.models.planblueprint.FieldModel fieldModel = sectionModel.getFields().stream().filter(x-> x.getSemantics() != null && x.getSemantics().contains(semanticKey)).findFirst().orElse(null);
-                if (fieldModel != null) fields.add(fieldModel);
-            }
-        }
-        return fields;
-    }
-
-    private PlanBlueprintValueModel getPlanBlueprintValue(PlanModel plan, UUID id){
-        if (plan == null || plan.getProperties() == null || plan.getProperties().getPlanBlueprintValues() == null) return null;
-        return plan.getProperties().getPlanBlueprintValues().stream().filter(x-> x.getFieldId().equals(id)).findFirst().orElse(null);
-    }
-
-
-    private Set<String> extractSchematicValues(List<org.opencdmp.commonmodels.models.descriptiotemplate.FieldModel> fields, PropertyDefinitionModel propertyDefinition) {
+    private Set<String> extractSchematicValues(List<org.opencdmp.commonmodels.models.descriptiotemplate.FieldModel> fields, Map<String, List<FieldModel>> valueFieldsById) {
         Set<String> values = new HashSet<>();
         for (org.opencdmp.commonmodels.models.descriptiotemplate.FieldModel field : fields) {
-            if (field.getData() == null) continue;
-            List<FieldModel> valueFields = this.findValueFieldsByIds(field.getId(), propertyDefinition);
+            if (field.getData() == null || field.getId() == null) continue;
+            List<FieldModel> valueFields = valueFieldsById.getOrDefault(field.getId().toLowerCase(Locale.ROOT), List.of());
             for (FieldModel valueField : valueFields) {
                 switch (field.getData().getFieldType()) {
                     case FREE_TEXT, TEXT_AREA, RICH_TEXT_AREA -> {
@@ -172,89 +172,119 @@ public class FedoraBuilder {
     }
 
 
-    private List<FieldModel> findValueFieldsByIds(String fieldId, PropertyDefinitionModel definitionModel){
-        List<FieldModel> models = new ArrayList<>();
+    private Map<String, List<FieldModel>> indexValueFields(PropertyDefinitionModel definitionModel){
+        Map<String, List<FieldModel>> models = new HashMap<>();
         if (definitionModel == null || definitionModel.getFieldSets() == null || definitionModel.getFieldSets().isEmpty()) return models;
         for (PropertyDefinitionFieldSetModel propertyDefinitionFieldSetModel : definitionModel.getFieldSets().values()){
             if (propertyDefinitionFieldSetModel == null ||propertyDefinitionFieldSetModel.getItems() == null || propertyDefinitionFieldSetModel.getItems().isEmpty()) continue;
             for (PropertyDefinitionFieldSetItemModel propertyDefinitionFieldSetItemModel : propertyDefinitionFieldSetModel.getItems()){
                 if (propertyDefinitionFieldSetItemModel == null ||propertyDefinitionFieldSetItemModel.getFields() == null || propertyDefinitionFieldSetItemModel.getFields().isEmpty()) continue;
                 for (Map.Entry<String, FieldModel> entry : propertyDefinitionFieldSetItemModel.getFields().entrySet()){
-                    if (entry == null || entry.getValue() == null) continue;
-                    if (entry.getKey().equalsIgnoreCase(fieldId)) models.add(entry.getValue());
+                    if (entry == null || entry.getKey() == null || entry.getValue() == null) continue;
+                    models.computeIfAbsent(entry.getKey().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(entry.getValue());
                 }
             }
         }
         return models;
     }
 
+    private Map<UUID, PlanBlueprintValueModel> indexPlanBlueprintValues(PlanModel plan){
+        Map<UUID, PlanBlueprintValueModel> values = new HashMap<>();
+        if (plan == null || plan.getProperties() == null || plan.getProperties().getPlanBlueprintValues() == null) return values;
+        for (PlanBlueprintValueModel valueModel : plan.getProperties().getPlanBlueprintValues()) {
+            if (valueModel != null && valueModel.getFieldId() != null) values.putIfAbsent(valueModel.getFieldId(), valueModel);
+        }
+        return values;
+    }
 
+    private DescriptionTemplateSemantics getDescriptionTemplateSemantics(UUID descriptionTemplateId, org.opencdmp.commonmodels.models.descriptiotemplate.DefinitionModel definitionModel, Set<String> acceptedSemantics) {
+        if (descriptionTemplateId == null) return DescriptionTemplateSemantics.compile(definitionModel, acceptedSemantics);
 
-    public void applySemantics(PlanModel planModel, Resource resource) {
+        String key = this.descriptionTemplateSemanticsCacheService.buildKey(descriptionTemplateId);
+        DescriptionTemplateSemanticsCacheService.DescriptionTemplateSemanticsCacheValue cacheValue = this.descriptionTemplateSemanticsCacheService.lookup(key);
+        if (cacheValue != null && cacheValue.getSemantics() != null) return cacheValue.getSemantics();
 
-        List<SemanticsProperties.PathName> acceptedSemantics = this.semanticsProperties.getAvailable();
+        DescriptionTemplateSemantics semantics = DescriptionTemplateSemantics.compile(definitionModel, acceptedSemantics);
+        this.descriptionTemplateSemanticsCacheService.put(key, new DescriptionTemplateSemanticsCacheService.DescriptionTemplateSemanticsCacheValue(descriptionTemplateId, semantics));
+        return semantics;
+    }
+
+    private PlanBlueprintSemantics getPlanBlueprintSemantics(UUID planBlueprintId, org.opencdmp.commonmodels.models.planblueprint.DefinitionModel definitionModel, Set<String> acceptedSemantics) {
+        if (planBlueprintId == null) return PlanBlueprintSemantics.compile(definitionModel, acceptedSemantics);
+
+        String key = this.planBlueprintSemanticsCacheService.buildKey(planBlueprintId);
+        PlanBlueprintSemanticsCacheService.PlanBlueprintSemanticsCacheValue cacheValue = this.planBlueprintSemanticsCacheService.lookup(key);
+        if (cacheValue != null && cacheValue.getSemantics() != null) return cacheValue.getSemantics();
+
+        PlanBlueprintSemantics semantics = PlanBlueprintSemantics.compile(definitionModel, acceptedSemantics);
+        this.planBlueprintSemanticsCacheService.put(key, new PlanBlueprintSemanticsCacheService.PlanBlueprintSemanticsCacheValue(planBlueprintId, semantics));
+        return semantics;
+    }
+
+    private Set<String> acceptedSemantics() {
+        Set<String> acceptedSemantics = new HashSet<>();
+        if (this.semanticsProperties.getAvailable() == null) return acceptedSemantics;
+        for (SemanticsProperties.PathName pathName : this.semanticsProperties.getAvailable()) {
+            if (pathName != null && pathName.getName() != null) acceptedSemantics.add(pathName.getName());
+        }
+        return acceptedSemantics;
+    }
+
+    public void applySemantics(PlanModel planModel, DublinCoreStatements statements) {
+
+        Set<String> acceptedSemantics = this.acceptedSemantics();
 
         Map<String, Set<String>> pathToValuesMap = new HashMap<>();
 
-        if (planModel.getDescription() != null) {
+        if (planModel.getDescription() != null && planModel.getDescriptions() != null) {
             for (DescriptionModel descriptionModel : planModel.getDescriptions()) {
-                for (SemanticsProperties.PathName relatedName : acceptedSemantics) {
-                    List<org.opencdmp.commonmodels.models.descriptiotemplate.FieldModel> fieldsWithSemantics =
-                            this.findDescriptionSemanticValues(
-                                    relatedName.getName(),
-                                    descriptionModel.getDescriptionTemplate().getDefinition()
-                            );
-                    Set<String> values = extractSchematicValues(fieldsWithSemantics, descriptionModel.getProperties());
-                    pathToValuesMap.computeIfAbsent(relatedName.getName(), k -> new HashSet<>()).addAll(values);
+                if (descriptionModel == null || descriptionModel.getDescriptionTemplate() == null) continue;
+                DescriptionTemplateSemantics templateSemantics = this.getDescriptionTemplateSemantics(descriptionModel.getDescriptionTemplate().getId(), descriptionModel.getDescriptionTemplate().getDefinition(), acceptedSemantics);
+                if (templateSemantics.getFieldsBySemantic().isEmpty()) continue;
+
+                Map<String, List<FieldModel>> valueFieldsById = this.indexValueFields(descriptionModel.getProperties());
+                for (Map.Entry<String, List<org.opencdmp.commonmodels.models.descriptiotemplate.FieldModel>> entry : templateSemantics.getFieldsBySemantic().entrySet()) {
+                    Set<String> values = extractSchematicValues(entry.getValue(), valueFieldsById);
+                    pathToValuesMap.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(values);
                 }
             }
         }
 
-        for (SemanticsProperties.PathName relatedName : acceptedSemantics) {
-            List<org.opencdmp.commonmodels.models.planblueprint.FieldModel> fieldOfSemantic =
-                    this.getFieldOfSemantic(planModel, relatedName.getName());
+        if (planModel.getPlanBlueprint() != null) {
+            PlanBlueprintSemantics blueprintSemantics = this.getPlanBlueprintSemantics(planModel.getPlanBlueprint().getId(), planModel.getPlanBlueprint().getDefinition(), acceptedSemantics);
+            Map<UUID, PlanBlueprintValueModel> blueprintValues = blueprintSemantics.getFieldIdsBySemantic().isEmpty() ? Map.of() : this.indexPlanBlueprintValues(planModel);
 
-            for (org.opencdmp.commonmodels.models.planblueprint.FieldModel field : fieldOfSemantic) {
-                PlanBlueprintValueModel valueModel = this.getPlanBlueprintValue(planModel, field.getId());
+            for (Map.Entry<String, List<UUID>> entry : blueprintSemantics.getFieldIdsBySemantic().entrySet()) {
+                for (UUID fieldId : entry.getValue()) {
+                    PlanBlueprintValueModel valueModel = blueprintValues.get(fieldId);
 
-                if (valueModel != null) {
-                    if (valueModel.getDateValue() != null) {
-                        String dateVal = DateTimeFormatter.ofPattern("yyyy-MM-dd")
-                                .withZone(ZoneId.systemDefault())
-                                .format(valueModel.getDateValue());
-                        pathToValuesMap.computeIfAbsent(relatedName.getName(), k -> new HashSet<>()).add(dateVal);
-                    }
+                    if (valueModel != null) {
+                        if (valueModel.getDateValue() != null) {
+                            String dateVal = DateTimeFormatter.ofPattern("yyyy-MM-dd")
+                                    .withZone(ZoneId.systemDefault())
+                                    .format(valueModel.getDateValue());
+                            pathToValuesMap.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).add(dateVal);
+                        }
 
-                    if (valueModel.getNumberValue() != null) {
-                        pathToValuesMap.computeIfAbsent(relatedName.getName(), k -> new HashSet<>())
-                                .add(valueModel.getNumberValue().toString());
-                    }
+                        if (valueModel.getNumberValue() != null) {
+                            pathToValuesMap.computeIfAbsent(entry.getKey(), k -> new HashSet<>())
+                                    .add(valueModel.getNumberValue().toString());
+                        }
 
-                    if (valueModel.getValue() != null) {
-                        pathToValuesMap.computeIfAbsent(relatedName.getName(), k -> new HashSet<>())
-                                .add(valueModel.getValue());
+                        if (valueModel.getValue() != null) {
+                            pathToValuesMap.computeIfAbsent(entry.getKey(), k -> new HashSet<>())
+                                    .add(valueModel.getValue());
+                        }
                     }
                 }
             }
         }
 
         for (Map.Entry<String, Set<String>> entry : pathToValuesMap.entrySet()) {
-                String name = entry.getKey();
-                Set<String> values = entry.getValue();
-                for (String value : values) {
-                    if(name.equals(SEMANTIC_CREATOR)) resource.addProperty(DC.creator,value);
-                    if(name.equals(SEMANTIC_SUBJECT)) resource.addProperty(DC.subject,value);
-                    if(name.equals(SEMANTIC_DESCRIPTION)) resource.addProperty(DC.description,value);
-                    if(name.equals(SEMANTIC_PUBLISHER)) resource.addProperty(DC.publisher,value);
-                    if(name.equals(SEMANTIC_CONTRIBUTOR)) resource.addProperty(DC.contributor,value);
-                    if(name.equals(SEMANTIC_TYPE)) resource.addProperty(DC.type,value);
-                    if(name.equals(SEMANTIC_FORMAT)) resource.addProperty(DC.format,value);
-                    if(name.equals(SEMANTIC_IDENTIFIER)) resource.addProperty(DC.identifier,value);
-                    if(name.equals(SEMANTIC_SOURCE)) resource.addProperty(DC.source,value);
-                    if(name.equals(SEMANTIC_LANGUAGE)) resource.addProperty(DC.language,value);
-                    if(name.equals(SEMANTIC_RELATION)) resource.addProperty(DC.relation,value);
-                    if(name.equals(SEMANTIC_COVERAGE)) resource.addProperty(DC.coverage,value);
-                    if(name.equals(SEMANTIC_RIGHTS)) resource.addProperty(DC.rights,value);
+                Property property = SEMANTIC_PROPERTIES.get(entry.getKey());
+                if (property == null) continue;
+                for (String value : entry.getValue()) {
+                    statements.add(property, value);
                 }
         }
 
@@ -0,0 +1,40 @@
+package org.opencdmp.deposit.fedorarepository.model.builder;
+
+import org.opencdmp.commonmodels.models.planblueprint.DefinitionModel;
+import org.opencdmp.commonmodels.models.planblueprint.FieldModel;
+import org.opencdmp.commonmodels.models.planblueprint.SectionModel;
+
+import java.util.*;
+
+public class PlanBlueprintSemantics {
+
+    private final Map<String, List<UUID>> fieldIdsBySemantic;
+
+    private PlanBlueprintSemantics(Map<String, List<UUID>> fieldIdsBySemantic) {
+        this.fieldIdsBySemantic = fieldIdsBySemantic;
+    }
+
+    public static PlanBlueprintSemantics compile(DefinitionModel definitionModel, Set<String> acceptedSemantics) {
+        Map<String, List<UUID>> fieldIdsBySemantic = new HashMap<>();
+        if (definitionModel == null || definitionModel.getSections() == null) return new PlanBlueprintSemantics(fieldIdsBySemantic);
+
+        for (SectionModel sectionModel : definitionModel.getSections()) {
+            if (sectionModel.getFields() == null) continue;
+            // only the first field of a section carrying a semantic contributes to it
+            Set<String> sectionSemantics = new HashSet<>();
+            for (FieldModel field : sectionModel.getFields()) {
+                if (field == null || field.getSemantics() == null) continue;
+                for (String semantic : field.getSemantics()) {
+                    if (acceptedSemantics.contains(semantic) && sectionSemantics.add(semantic)) {
+                        fieldIdsBySemantic.computeIfAbsent(semantic, k -> new ArrayList<>()).add(field.getId());
+                    }
+                }
+            }
+        }
+        return new PlanBlueprintSemantics(fieldIdsBySemantic);
+    }
+
+    public Map<String, List<UUID>> getFieldIdsBySemantic() {
+        return fieldIdsBySemantic;
+    }
+}
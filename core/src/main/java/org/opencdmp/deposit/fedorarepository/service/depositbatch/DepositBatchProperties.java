@@ -0,0 +1,17 @@
+package org.opencdmp.deposit.fedorarepository.service.depositbatch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "deposit.batch")
+public class DepositBatchProperties {
+
+    private int concurrency = 4;
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+}
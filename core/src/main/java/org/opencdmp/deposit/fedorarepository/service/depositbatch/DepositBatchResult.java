@@ -0,0 +1,66 @@
+package org.opencdmp.deposit.fedorarepository.service.depositbatch;
+
+import java.util.UUID;
+
+public class DepositBatchResult {
+
+    private long index;
+
+    private UUID planId;
+
+    private DepositBatchStatus status;
+
+    private String identifier;
+
+    private String error;
+
+    private long durationMillis;
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public UUID getPlanId() {
+        return planId;
+    }
+
+    public void setPlanId(UUID planId) {
+        this.planId = planId;
+    }
+
+    public DepositBatchStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DepositBatchStatus status) {
+        this.status = status;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
@@ -0,0 +1,8 @@
+package org.opencdmp.deposit.fedorarepository.service.depositbatch;
+
+import org.opencdmp.depositbase.repository.PlanDepositModel;
+import reactor.core.publisher.Flux;
+
+public interface DepositBatchService {
+    Flux<DepositBatchResult> deposit(Flux<PlanDepositModel> deposits);
+}
@@ -0,0 +1,61 @@
+package org.opencdmp.deposit.fedorarepository.service.depositbatch;
+
+import gr.cite.tools.logging.LoggerService;
+import gr.cite.tools.logging.MapLogEntry;
+import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraDepositService;
+import org.opencdmp.depositbase.repository.PlanDepositModel;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class DepositBatchServiceImpl implements DepositBatchService {
+    private static final LoggerService logger = new LoggerService(LoggerFactory.getLogger(DepositBatchServiceImpl.class));
+
+    private final FedoraDepositService depositService;
+    private final DepositBatchProperties properties;
+
+    @Autowired
+    public DepositBatchServiceImpl(FedoraDepositService depositService, DepositBatchProperties properties) {
+        this.depositService = depositService;
+        this.properties = properties;
+    }
+
+    @Override
+    public Flux<DepositBatchResult> deposit(Flux<PlanDepositModel> deposits) {
+        // deposits block on Fedora I/O, so each one runs on the bounded elastic pool while connections and cached credentials are shared
+        return deposits.index()
+                .flatMap(indexed -> {
+                    long index = indexed.getT1();
+                    PlanDepositModel planDepositModel = indexed.getT2();
+                    UUID planId = planDepositModel.getPlanModel() != null ? planDepositModel.getPlanModel().getId() : null;
+                    long started = System.nanoTime();
+
+                    return Mono.fromCallable(() -> this.depositService.deposit(planDepositModel))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(identifier -> this.result(index, planId, started, identifier, null))
+                            .switchIfEmpty(Mono.fromSupplier(() -> this.result(index, planId, started, null, "Deposit returned no identifier")))
+                            .onErrorResume(e -> {
+                                logger.error(new MapLogEntry("batch deposit failed").And("index", index).And("planId", planId).And("error", e.getMessage()));
+                                return Mono.just(this.result(index, planId, started, null, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+                            });
+                }, Math.max(1, this.properties.getConcurrency()));
+    }
+
+    private DepositBatchResult result(long index, UUID planId, long started, String identifier, String error) {
+        DepositBatchResult result = new DepositBatchResult();
+        result.setIndex(index);
+        result.setPlanId(planId);
+        result.setStatus(error == null ? DepositBatchStatus.Completed : DepositBatchStatus.Failed);
+        result.setIdentifier(identifier);
+        result.setError(error);
+        result.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return result;
+    }
+}
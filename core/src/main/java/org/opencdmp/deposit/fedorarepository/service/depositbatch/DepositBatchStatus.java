@@ -0,0 +1,6 @@
+package org.opencdmp.deposit.fedorarepository.service.depositbatch;
+
+public enum DepositBatchStatus {
+	Completed,
+	Failed
+}
@@ -0,0 +1,90 @@
+package org.opencdmp.deposit.fedorarepository.service.depositjob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class DepositJob {
+
+    private UUID id;
+
+    private UUID planId;
+
+    private DepositJobStatus status;
+
+    private String identifier;
+
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    // a snapshot for the store and for callers, so the worker can keep updating its own instance
+    public DepositJob copy() {
+        DepositJob copy = new DepositJob();
+        copy.setId(this.id);
+        copy.setPlanId(this.planId);
+        copy.setStatus(this.status);
+        copy.setIdentifier(this.identifier);
+        copy.setError(this.error);
+        copy.setCreatedAt(this.createdAt);
+        copy.setUpdatedAt(this.updatedAt);
+        return copy;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getPlanId() {
+        return planId;
+    }
+
+    public void setPlanId(UUID planId) {
+        this.planId = planId;
+    }
+
+    public DepositJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DepositJobStatus status) {
+        this.status = status;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package org.opencdmp.deposit.fedorarepository.service.depositjob;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({DepositJobProperties.class})
+public class DepositJobConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(DepositJobStore.class)
+    public DepositJobStore depositJobStore() {
+        return new InMemoryDepositJobStore();
+    }
+}
@@ -0,0 +1,47 @@
+package org.opencdmp.deposit.fedorarepository.service.depositjob;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "deposit.job")
+public class DepositJobProperties {
+
+    private int workerPoolSize = 4;
+
+    private int queueCapacity = 100;
+
+    private int retentionMinutes = 60;
+
+    private int virtualThreadMaxInFlight = 500;
+
+    public int getWorkerPoolSize() {
+        return workerPoolSize;
+    }
+
+    public void setWorkerPoolSize(int workerPoolSize) {
+        this.workerPoolSize = workerPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getRetentionMinutes() {
+        return retentionMinutes;
+    }
+
+    public void setRetentionMinutes(int retentionMinutes) {
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    public int getVirtualThreadMaxInFlight() {
+        return virtualThreadMaxInFlight;
+    }
+
+    public void setVirtualThreadMaxInFlight(int virtualThreadMaxInFlight) {
+        this.virtualThreadMaxInFlight = virtualThreadMaxInFlight;
+    }
+}
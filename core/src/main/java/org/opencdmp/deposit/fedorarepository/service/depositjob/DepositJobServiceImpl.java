@@ -0,0 +1,130 @@
+package org.opencdmp.deposit.fedorarepository.service.depositjob;
+
+import gr.cite.tools.exception.MyApplicationException;
+import gr.cite.tools.exception.MyNotFoundException;
+import gr.cite.tools.logging.LoggerService;
+import gr.cite.tools.logging.MapLogEntry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import jakarta.annotation.PreDestroy;
+import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraDepositService;
+import org.opencdmp.depositbase.repository.PlanDepositModel;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+@Service
+public class DepositJobServiceImpl implements DepositJobService {
+    private static final LoggerService logger = new LoggerService(LoggerFactory.getLogger(DepositJobServiceImpl.class));
+
+    private final FedoraDepositService depositService;
+    private final DepositJobStore depositJobStore;
+    private final DepositJobProperties properties;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final Semaphore running;
+
+    @Autowired
+    public DepositJobServiceImpl(FedoraDepositService depositService, DepositJobStore depositJobStore, DepositJobProperties properties, Bulkhead depositBulkhead, Environment environment) {
+        this.depositService = depositService;
+        this.depositJobStore = depositJobStore;
+        this.properties = properties;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // jobs mostly wait on Fedora I/O, so on virtual threads only the number of in-flight deposits is bounded
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("deposit-job-", 0).factory());
+            this.inFlight = new Semaphore(properties.getVirtualThreadMaxInFlight());
+            // admitted jobs wait on their own virtual thread for one of the deposit bulkhead's slots instead of being rejected by it
+            this.running = new Semaphore(depositBulkhead.getBulkheadConfig().getMaxConcurrentCalls());
+        } else {
+            this.executor = new ThreadPoolExecutor(properties.getWorkerPoolSize(), properties.getWorkerPoolSize(),
+                    0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+                    new CustomizableThreadFactory("deposit-job-"));
+            this.inFlight = null;
+            this.running = null;
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        this.executor.shutdown();
+    }
+
+    @Override
+    public DepositJob submit(PlanDepositModel planDepositModel) {
+        this.depositJobStore.removeFinishedBefore(Instant.now().minus(Duration.ofMinutes(this.properties.getRetentionMinutes())));
+
+        DepositJob job = new DepositJob();
+        job.setId(UUID.randomUUID());
+        if (planDepositModel != null && planDepositModel.getPlanModel() != null) job.setPlanId(planDepositModel.getPlanModel().getId());
+        job.setCreatedAt(Instant.now());
+
+        // a rejected job is never stored, the caller only gets the error
+        if (this.inFlight != null && !this.inFlight.tryAcquire()) throw this.rejected();
+        this.updateStatus(job, DepositJobStatus.Queued);
+        DepositJob queued = job.copy();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    if (this.running != null) this.running.acquireUninterruptibly();
+                    try {
+                        this.run(job, planDepositModel);
+                    } finally {
+                        if (this.running != null) this.running.release();
+                    }
+                } finally {
+                    if (this.inFlight != null) this.inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (this.inFlight != null) this.inFlight.release();
+            this.depositJobStore.remove(job.getId());
+            throw this.rejected();
+        }
+        return queued;
+    }
+
+    @Override
+    public DepositJob get(UUID id) {
+        DepositJob job = this.depositJobStore.find(id);
+        if (job == null) throw new MyNotFoundException("Deposit job " + id + " not found");
+        return job;
+    }
+
+    private void run(DepositJob job, PlanDepositModel planDepositModel) {
+        logger.debug(new MapLogEntry("running deposit job").And("id", job.getId()).And("planId", job.getPlanId()));
+        this.updateStatus(job, DepositJobStatus.Running);
+        try {
+            String identifier = this.depositService.deposit(planDepositModel, phase -> {
+                switch (phase) {
+                    case MetadataCreated -> this.updateStatus(job, DepositJobStatus.MetadataCreated);
+                    case FilesUploaded -> this.updateStatus(job, DepositJobStatus.FilesUploaded);
+                }
+            });
+            job.setIdentifier(identifier);
+            this.updateStatus(job, DepositJobStatus.Completed);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            job.setError(e.getMessage());
+            this.updateStatus(job, DepositJobStatus.Failed);
+        }
+    }
+
+    private MyApplicationException rejected() {
+        return new MyApplicationException("Deposit queue is full, please retry later");
+    }
+
+    // only the worker mutates the job; the store receives a snapshot, so pollers never see a half-written update
+    private void updateStatus(DepositJob job, DepositJobStatus status) {
+        job.setStatus(status);
+        job.setUpdatedAt(Instant.now());
+        this.depositJobStore.save(job.copy());
+    }
+}
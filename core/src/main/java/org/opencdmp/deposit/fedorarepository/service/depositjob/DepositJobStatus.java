@@ -0,0 +1,14 @@
+package org.opencdmp.deposit.fedorarepository.service.depositjob;
+
+public enum DepositJobStatus {
+	Queued,
+	Running,
+	MetadataCreated,
+	FilesUploaded,
+	Completed,
+	Failed;
+
+	public boolean isFinished() {
+		return this == Completed || this == Failed;
+	}
+}
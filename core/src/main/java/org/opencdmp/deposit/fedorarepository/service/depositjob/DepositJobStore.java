@@ -0,0 +1,14 @@
+package org.opencdmp.deposit.fedorarepository.service.depositjob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface DepositJobStore {
+	void save(DepositJob job);
+
+	DepositJob find(UUID id);
+
+	void remove(UUID id);
+
+	void removeFinishedBefore(Instant before);
+}
@@ -0,0 +1,31 @@
+package org.opencdmp.deposit.fedorarepository.service.depositjob;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryDepositJobStore implements DepositJobStore {
+
+    private final Map<UUID, DepositJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(DepositJob job) {
+        this.jobs.put(job.getId(), job);
+    }
+
+    @Override
+    public DepositJob find(UUID id) {
+        return this.jobs.get(id);
+    }
+
+    @Override
+    public void remove(UUID id) {
+        this.jobs.remove(id);
+    }
+
+    @Override
+    public void removeFinishedBefore(Instant before) {
+        this.jobs.values().removeIf(x -> x.getStatus().isFinished() && x.getUpdatedAt().isBefore(before));
+    }
+}
@@ -0,0 +1,91 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@Component
+public class DepositMetrics {
+
+    public static final String PHASE_TIMER = "fedora.deposit.phase";
+    public static final String UPLOAD_TIMER = "fedora.deposit.upload";
+    public static final String UPLOAD_BYTES = "fedora.deposit.upload.bytes";
+
+    public static final String TRANSFER_DIRECT = "direct";
+    public static final String TRANSFER_GZIP = "gzip";
+    public static final String TRANSFER_EXTERNAL = "external";
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+
+    public DepositMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> time(DepositStage stage, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(this.meterRegistry);
+            return call.doOnSuccess(x -> sample.stop(this.phaseTimer(stage, null)))
+                    .doOnError(e -> sample.stop(this.phaseTimer(stage, e)));
+        });
+    }
+
+    public <T> T time(DepositStage stage, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        try {
+            T result = call.get();
+            sample.stop(this.phaseTimer(stage, null));
+            return result;
+        } catch (RuntimeException e) {
+            sample.stop(this.phaseTimer(stage, e));
+            throw e;
+        }
+    }
+
+    // bytes are read once the upload succeeded, so a streamed body reports what actually went over the wire; a negative count is not recorded
+    public Mono<Void> timeUpload(String contentType, String transfer, LongSupplier bytesSent, Mono<Void> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(this.meterRegistry);
+            return call.doOnSuccess(x -> {
+                        sample.stop(this.uploadTimer(contentType, transfer, null));
+                        long bytes = bytesSent.getAsLong();
+                        if (bytes >= 0) DistributionSummary.builder(UPLOAD_BYTES).baseUnit("bytes").tag("contentType", contentType).tag("transfer", transfer).register(this.meterRegistry).record(bytes);
+                    })
+                    .doOnError(e -> sample.stop(this.uploadTimer(contentType, transfer, e)));
+        });
+    }
+
+    private Timer phaseTimer(DepositStage stage, Throwable error) {
+        return Timer.builder(PHASE_TIMER)
+                .tag("phase", stage.name())
+                .tag("outcome", error == null ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+                .tag("status", this.statusOf(error, stage.isRemote()))
+                .register(this.meterRegistry);
+    }
+
+    private Timer uploadTimer(String contentType, String transfer, Throwable error) {
+        return Timer.builder(UPLOAD_TIMER)
+                .tag("contentType", contentType)
+                .tag("transfer", transfer)
+                .tag("outcome", error == null ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+                .tag("status", this.statusOf(error, true))
+                .register(this.meterRegistry);
+    }
+
+    private String statusOf(Throwable error, boolean remote) {
+        if (error == null) return remote ? "2xx" : "none";
+        if (error instanceof WebClientResponseException responseException) return String.valueOf(responseException.getStatusCode().value());
+        if (error instanceof WebClientRequestException || error instanceof TimeoutException) return "io";
+        return "none";
+    }
+}
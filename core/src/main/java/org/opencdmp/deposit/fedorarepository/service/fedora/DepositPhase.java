@@ -0,0 +1,6 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+public enum DepositPhase {
+	MetadataCreated,
+	FilesUploaded
+}
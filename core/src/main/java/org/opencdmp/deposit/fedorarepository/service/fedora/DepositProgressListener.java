@@ -0,0 +1,8 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+@FunctionalInterface
+public interface DepositProgressListener {
+	DepositProgressListener NONE = phase -> {};
+
+	void onPhase(DepositPhase phase);
+}
@@ -0,0 +1,23 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+public enum DepositStage {
+    Build(false),
+    CreateContainer(true),
+    CreateVersion(true),
+    UpdateMetadata(true),
+    DeleteFiles(false),
+    SyncFiles(false),
+    StorageRead(false),
+    BeginTransaction(true),
+    CommitTransaction(true);
+
+    private final boolean remote;
+
+    DepositStage(boolean remote) {
+        this.remote = remote;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+}
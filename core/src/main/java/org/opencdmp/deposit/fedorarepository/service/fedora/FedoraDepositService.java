@@ -6,9 +6,13 @@ import org.opencdmp.depositbase.repository.PlanDepositModel;
 public interface FedoraDepositService {
 	String deposit(PlanDepositModel planDepositModel) throws Exception;
 
+	String deposit(PlanDepositModel planDepositModel, DepositProgressListener listener) throws Exception;
+
 	DepositConfiguration getConfiguration();
 
 	String authenticate(String code);
 
 	String getLogo();
+
+	RepositoryLogo getLogoEntry();
 }
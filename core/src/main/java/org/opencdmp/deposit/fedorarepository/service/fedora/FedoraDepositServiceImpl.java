@@ -1,8 +1,16 @@
 package org.opencdmp.deposit.fedorarepository.service.fedora;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.cite.tools.exception.MyApplicationException;
 import gr.cite.tools.logging.LoggerService;
 import gr.cite.tools.logging.MapLogEntry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Property;
@@ -10,6 +18,7 @@ import org.apache.jena.rdf.model.RDFNode;
 import org.opencdmp.commonmodels.models.FileEnvelopeModel;
 import org.opencdmp.commonmodels.models.plan.PlanModel;
 import org.opencdmp.commonmodels.models.plugin.PluginUserFieldModel;
+import org.opencdmp.deposit.fedorarepository.cache.LogoCacheService;
 import org.opencdmp.deposit.fedorarepository.model.builder.FedoraBuilder;
 import org.opencdmp.deposit.fedorarepository.service.storage.FileStorageService;
 import org.opencdmp.depositbase.repository.DepositConfiguration;
@@ -17,23 +26,50 @@ import org.opencdmp.depositbase.repository.PlanDepositModel;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.*;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
 
 import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
-
-
-import reactor.netty.http.client.HttpClient;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 @Component
 public class FedoraDepositServiceImpl implements FedoraDepositService {
@@ -41,6 +77,15 @@ public class FedoraDepositServiceImpl implements FedoraDepositService {
 
     private static final String CONFIGURATION_FIELD_USERNAME = "fedora-username";
     private static final String CONFIGURATION_FIELD_PASSWORD = "fedora-password";
+    private static final String CONNECTION_PROVIDER_NAME = "fedora";
+    private static final String METRICS_URI_TAG = "fedora";
+    private static final String FCREPO_EMBED_RESOURCES = "http://fedora.info/definitions/fcrepo#EmbedResources";
+    private static final String PREMIS_HAS_MESSAGE_DIGEST = "http://www.loc.gov/premis/rdf/v1#hasMessageDigest";
+    private static final String DIGEST_HEADER = "Digest";
+    private static final String FCREPO_EXTERNAL_CONTENT = "http://fedora.info/definitions/fcrepo#ExternalContent";
+    private static final String TURTLE_CONTENT_TYPE = "text/turtle";
+    private static final String DEPOSIT_CONTEXT_ATTRIBUTE = FedoraDepositServiceImpl.class.getName() + ".context";
+    private static final String ATOMIC_ID_HEADER = "Atomic-ID";
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -48,47 +93,84 @@ public class FedoraDepositServiceImpl implements FedoraDepositService {
     private final FedoraBuilder fedoraBuilder;
     private final FileStorageService storageService;
     private final ResourceLoader resourceLoader;
-
-    private byte[] logo;
-    private String username;
-    private String password;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final DepositMetrics depositMetrics;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final Bulkhead depositBulkhead;
+    private final LogoCacheService logoCacheService;
+    private final FedoraRequestCompressor requestCompressor;
+    private final FedoraExternalContentStager externalContentStager;
+    private final ReentrantLock logoLock = new ReentrantLock();
 
     @Autowired
-    public FedoraDepositServiceImpl(FedoraServiceProperties fedoraServiceProperties, FedoraBuilder fedoraBuilder, FileStorageService storageService, ResourceLoader resourceLoader){
+    public FedoraDepositServiceImpl(FedoraServiceProperties fedoraServiceProperties, FedoraBuilder fedoraBuilder, FileStorageService storageService, ResourceLoader resourceLoader, MeterRegistry meterRegistry, DepositMetrics depositMetrics, CircuitBreakerRegistry circuitBreakerRegistry, Bulkhead depositBulkhead, LogoCacheService logoCacheService, FedoraRequestCompressor requestCompressor, FedoraExternalContentStager externalContentStager){
         this.fedoraServiceProperties = fedoraServiceProperties;
         this.fedoraBuilder = fedoraBuilder;
 	    this.storageService = storageService;
         this.resourceLoader = resourceLoader;
-        this.logo = null;
+        this.meterRegistry = meterRegistry;
+        this.depositMetrics = depositMetrics;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.depositBulkhead = depositBulkhead;
+        this.logoCacheService = logoCacheService;
+        this.requestCompressor = requestCompressor;
+        this.externalContentStager = externalContentStager;
+        this.connectionProvider = this.buildConnectionProvider();
+        this.webClient = this.buildWebClient(this.connectionProvider);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        this.connectionProvider.dispose();
     }
 
     @Override
     public String deposit(PlanDepositModel planDepositModel) throws Exception {
+        return this.deposit(planDepositModel, DepositProgressListener.NONE);
+    }
+
+    @Override
+    public String deposit(PlanDepositModel planDepositModel, DepositProgressListener listener) throws Exception {
+        this.depositBulkhead.acquirePermission();
+        try {
+            return this.depositGuarded(planDepositModel, listener);
+        } finally {
+            this.depositBulkhead.onComplete();
+        }
+    }
+
+    private String depositGuarded(PlanDepositModel planDepositModel, DepositProgressListener listener) throws Exception {
 
         DepositConfiguration depositConfiguration = this.getConfiguration();
 
         if(depositConfiguration != null && planDepositModel != null && planDepositModel.getPlanModel() != null) {
 
+            String username = null;
+            String password = null;
             if (planDepositModel.getAuthInfo() != null) {
                 if (planDepositModel.getAuthInfo().getAuthFields() != null && !planDepositModel.getAuthInfo().getAuthFields().isEmpty() && depositConfiguration.getUserConfigurationFields() != null) {
                     PluginUserFieldModel usernameFieldMode = planDepositModel.getAuthInfo().getAuthFields().stream().filter(x -> x.getCode().equals(CONFIGURATION_FIELD_USERNAME)).findFirst().orElse(null);
                     PluginUserFieldModel passwordFieldModel = planDepositModel.getAuthInfo().getAuthFields().stream().filter(x -> x.getCode().equals(CONFIGURATION_FIELD_PASSWORD)).findFirst().orElse(null);
                     if (usernameFieldMode != null && usernameFieldMode.getTextValue() != null && !usernameFieldMode.getTextValue().isBlank()
                         && passwordFieldModel != null && passwordFieldModel.getTextValue() != null && !passwordFieldModel.getTextValue().isBlank()) {
-                        this.username = usernameFieldMode.getTextValue();
-                        this.password = passwordFieldModel.getTextValue();
+                        username = usernameFieldMode.getTextValue();
+                        password = passwordFieldModel.getTextValue();
                     }
                 }
             }
 
-            if ((this.username == null || this.username.isBlank()) && (this.password == null || this.password.isBlank())) {
-                this.username = this.fedoraServiceProperties.getUsername();
-                this.password = this.fedoraServiceProperties.getPassword();
+            if ((username == null || username.isBlank()) && (password == null || password.isBlank())) {
+                username = this.fedoraServiceProperties.getUsername();
+                password = this.fedoraServiceProperties.getPassword();
             }
+            // encoded once per deposit; every request of the deposit takes it from the context
+            DepositContext context = new DepositContext(username, "Basic " + HttpHeaders.encodeBasicAuth(username, password, null), null);
 
             String baseUrl = depositConfiguration.getRepositoryUrl();
 
-            WebClient client = this.getWebClient();
+            WebClient client = this.webClient;
 
             DepositConfiguration config = this.fedoraServiceProperties.getDepositConfiguration();
             if (config == null) return null;
@@ -98,9 +180,9 @@ public class FedoraDepositServiceImpl implements FedoraDepositService {
             try {
 
                 if (previousDOI == null) {
-                    return deposit(baseUrl, client, planDepositModel.getPlanModel());
+                    return deposit(context, baseUrl, client, planDepositModel.getPlanModel(), listener);
                 } else {
-                    return depositNewVersion(baseUrl, client, planDepositModel.getPlanModel());
+                    return depositNewVersion(context, baseUrl, client, planDepositModel.getPlanModel(), listener);
                 }
 
             } catch (HttpClientErrorException | HttpServerErrorException ex) {
@@ -128,51 +210,178 @@ public class FedoraDepositServiceImpl implements FedoraDepositService {
         throw new IllegalArgumentException("No identifier found in URL");
     }
 
-    private HttpHeaders createHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBasicAuth(this.username, this.password);
-        return headers;
-    }
-
-    private String depositNewVersion(String baseUrl, WebClient client, PlanModel planModel){
+    private String depositNewVersion(DepositContext context, String baseUrl, WebClient client, PlanModel planModel, DepositProgressListener listener){
         String resourceUri = baseUrl + planModel.getPreviousDOI();
 
         logger.debug(new MapLogEntry("Deposit New Version")
                 .And("url", resourceUri + "/fcr:versions")
                 .And("plan", planModel));
 
-        String response = client.post().uri(resourceUri + "/fcr:versions").headers(httpHeaders -> {
-                    httpHeaders.putAll(this.createHeaders());
-                }).contentType(MediaType.valueOf("text/turtle"))
+        String response = this.depositMetrics.time(DepositStage.CreateVersion, this.guard(client.post().uri(resourceUri + "/fcr:versions")
+                .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                .contentType(MediaType.valueOf("text/turtle"))
                 .retrieve()
-                .bodyToMono(String.class)
+                .bodyToMono(String.class), FedoraOperation.CreateVersion))
                 .block();
 
-        client.put()
+        String metadata = this.depositMetrics.time(DepositStage.Build, () -> this.fedoraBuilder.build(planModel));
+        this.depositMetrics.time(DepositStage.UpdateMetadata, this.guard(this.turtleBody(client.put()
                 .uri(resourceUri)
-                .headers(httpHeaders -> httpHeaders.putAll(this.createHeaders()))
-                .contentType(MediaType.valueOf("text/turtle"))
-                .bodyValue(this.fedoraBuilder.build(planModel))
+                .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context), metadata)
                 .retrieve()
-                .toBodilessEntity()
+                .toBodilessEntity(), FedoraOperation.UpdateMetadata))
                 .block();
+        listener.onPhase(DepositPhase.MetadataCreated);
+
+        List<FileUpload> uploads = this.fileUploadsOf(planModel);
+        List<FileUpload> changed;
+        if (this.fedoraServiceProperties.isIncrementalVersions()) {
+            changed = this.depositMetrics.time(DepositStage.SyncFiles, () -> this.syncFiles(context, resourceUri, uploads, planModel.getVersion()));
+        } else {
+            this.depositMetrics.time(DepositStage.DeleteFiles, () -> this.deleteFiles(context, resourceUri));
+            changed = uploads;
+        }
 
-        this.deleteFiles(resourceUri);
-
-        this.uploadFiles(planModel, resourceUri);
+        this.uploadFiles(context, changed, resourceUri, planModel.getVersion());
+        listener.onPhase(DepositPhase.FilesUploaded);
 
         return planModel.getPreviousDOI();
     }
 
-    private void deleteFiles(String resourceUri) {
-        WebClient client = this.getWebClient();
+    private int deleteFiles(DepositContext context, String resourceUri) {
+        Model model = this.readContainer(context, resourceUri, false);
+        return this.deleteChildren(context, resourceUri, this.childrenOf(model, resourceUri));
+    }
+
+    private List<FileUpload> syncFiles(DepositContext context, String resourceUri, List<FileUpload> uploads, int version) {
+        // a child is reused only for the upload with the same name apart from its version suffix, and only when the stored digest matches
+        Model model = this.readContainer(context, resourceUri, true);
+        List<String> childUris = this.childrenOf(model, resourceUri);
+        Property hasMessageDigest = model.createProperty(PREMIS_HAS_MESSAGE_DIGEST);
+
+        Map<String, Map<String, String>> childDigests = new HashMap<>();
+        Set<String> algorithms = new HashSet<>();
+        for (String childUri : childUris) {
+            Map<String, String> digests = new HashMap<>();
+            model.listObjectsOfProperty(model.createResource(childUri), hasMessageDigest).forEachRemaining(node -> {
+                Map.Entry<String, String> digest = FedoraDigests.parseUrn(node.isResource() ? node.asResource().getURI() : node.asLiteral().getString());
+                if (digest != null && FedoraDigests.javaAlgorithmOf(digest.getKey()) != null) digests.put(digest.getKey(), digest.getValue());
+            });
+            childDigests.put(childUri, digests);
+            algorithms.addAll(digests.keySet());
+        }
+
+        // digests later sent with the upload are computed in the same pass
+        Set<String> localAlgorithms = new HashSet<>(algorithms);
+        localAlgorithms.addAll(this.uploadDigestAlgorithms());
+
+        List<FileUpload> changed = new ArrayList<>();
+        Set<String> unchanged = ConcurrentHashMap.newKeySet();
+        List<Map.Entry<FileUpload, String>> copies = new ArrayList<>();
+        for (FileUpload upload : uploads) {
+            String fileName = FedoraFileNames.cleanFileName(upload.file().getFilename(), version);
+            String uri = resourceUri + "/" + fileName;
+            String unversionedName = FedoraFileNames.unversionedFileName(fileName);
+            Map<String, String> localDigests = algorithms.isEmpty() ? Map.of() : this.digestsOf(upload, localAlgorithms);
+            String match = childUris.stream()
+                    .filter(childUri -> !unchanged.contains(childUri) && copies.stream().noneMatch(copy -> copy.getValue().equals(childUri)))
+                    .filter(childUri -> Objects.equals(unversionedName, FedoraFileNames.unversionedFileName(fileNameOf(childUri))))
+                    .filter(childUri -> childDigests.get(childUri).entrySet().stream().anyMatch(x -> x.getValue().equals(localDigests.get(x.getKey()))))
+                    .min(Comparator.comparing(childUri -> !childUri.equals(uri)))
+                    .orElse(null);
+            if (match == null || (!match.equals(uri) && !this.fedoraServiceProperties.isServerSideCopy())) {
+                changed.add(upload);
+            } else if (match.equals(uri)) {
+                unchanged.add(match);
+                this.meterRegistry.counter("fedora.deposit.files.unchanged", "contentType", upload.contentType()).increment();
+            } else {
+                copies.add(Map.entry(upload, match));
+            }
+        }
+
+        // with serverSideCopy an unchanged file stored under an older version's name is copied inside Fedora to this version's name,
+        // otherwise it is uploaded again under that name; either way every child carries the same suffix
+        List<FileUpload> uncopied = Flux.fromIterable(copies)
+                .flatMap(copy -> this.copyChild(context, copy.getValue(), resourceUri, copy.getKey(), version)
+                        .doOnSuccess(uri -> {
+                            unchanged.add(uri);
+                            this.meterRegistry.counter("fedora.deposit.files.copied", "contentType", copy.getKey().contentType()).increment();
+                        })
+                        .then(Mono.<FileUpload>empty())
+                        .onErrorResume(e -> {
+                            logger.warn("Could not copy {} inside Fedora, uploading {} instead", copy.getValue(), copy.getKey().file().getFilename(), e);
+                            return Mono.just(copy.getKey());
+                        }), Math.max(1, this.fedoraServiceProperties.getUploadConcurrency()))
+                .collectList()
+                .block();
+        if (uncopied != null) changed.addAll(uncopied);
+
+        List<String> stale = childUris.stream().filter(childUri -> !unchanged.contains(childUri)).toList();
+        logger.debug(new MapLogEntry("Synchronizing version files").And("url", resourceUri).And("unchanged", unchanged.size()).And("stale", stale.size()).And("changed", changed.size()));
+        // throws when a stale child survives, so no version is left holding files of two versions
+        this.deleteChildren(context, resourceUri, stale);
+        return changed;
+    }
+
+    private Mono<String> copyChild(DepositContext context, String sourceUri, String resourceUri, FileUpload upload, int version) {
+        String uri = resourceUri + "/" + FedoraFileNames.cleanFileName(upload.file().getFilename(), version);
+        // the digest lets Fedora reject the copy if the source changed since it was compared
+        List<String> digestAlgorithms = this.uploadDigestAlgorithms();
+        String digest = digestHeaderOf(upload.digests(), digestAlgorithms);
+        return this.guard(this.webClient.put().uri(uri)
+                .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                .headers(httpHeaders -> {
+                    httpHeaders.set(HttpHeaders.LINK, externalContentLinkOf(sourceUri, upload.contentType()));
+                    if (!digest.isEmpty()) httpHeaders.set(DIGEST_HEADER, digest);
+                })
+                .retrieve().toBodilessEntity(), FedoraOperation.UploadBinary)
+                .thenReturn(uri);
+    }
+
+    private static String fileNameOf(String childUri) {
+        return UriUtils.decode(childUri.substring(childUri.lastIndexOf('/') + 1), StandardCharsets.UTF_8);
+    }
+
+    private static String externalContentLinkOf(String uri, String contentType) {
+        return "<" + uri + ">; rel=\"" + FCREPO_EXTERNAL_CONTENT + "\"; handling=\"copy\"; type=\"" + contentType + "\"";
+    }
+
+    private Map<String, String> digestsOf(FileUpload upload, Collection<String> algorithms) {
+        List<String> missing = algorithms.stream().filter(algorithm -> !upload.digests().containsKey(algorithm)).toList();
+        if (missing.isEmpty()) return upload.digests();
+        try {
+            // the pre-pass is the one full read of the stored content ahead of the upload, so it is what StorageRead measures
+            Map<String, String> digests = this.depositMetrics.time(DepositStage.StorageRead, FedoraDigests.compute(this.contentBuffersOf(upload.file()), missing)).block();
+            if (digests != null) upload.digests().putAll(digests);
+        } catch (RuntimeException e) {
+            logger.warn("Could not compute digest of {}", upload.file().getFilename(), e);
+        }
+        return upload.digests();
+    }
 
-        String turtle = client.get()
+    private List<String> uploadDigestAlgorithms() {
+        FedoraServiceProperties.UploadDigest uploadDigest = this.fedoraServiceProperties.getUploadDigest();
+        if (!uploadDigest.isEnabled()) return List.of();
+        return uploadDigest.isMd5() ? List.of(FedoraDigests.SHA_256, FedoraDigests.MD5) : List.of(FedoraDigests.SHA_256);
+    }
+
+    private static String digestHeaderOf(Map<String, String> digests, List<String> algorithms) {
+        return algorithms.stream()
+                .filter(digests::containsKey)
+                .map(algorithm -> algorithm + "=" + digests.get(algorithm))
+                .collect(Collectors.joining(", "));
+    }
+
+    private Model readContainer(DepositContext context, String resourceUri, boolean embedChildren) {
+        String turtle = this.guard(this.webClient.get()
                 .uri(resourceUri)
-                .headers(httpHeaders -> httpHeaders.putAll(this.createHeaders()))
+                .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                .headers(httpHeaders -> {
+                    if (embedChildren) httpHeaders.set("Prefer", "return=representation; include=\"" + FCREPO_EMBED_RESOURCES + "\"");
+                })
                 .accept(MediaType.valueOf("text/turtle"))
                 .retrieve()
-                .bodyToMono(String.class)
+                .bodyToMono(String.class), FedoraOperation.ReadContainer)
                 .block();
 
         if (turtle == null || turtle.isBlank()) {
@@ -183,93 +392,390 @@ public class FedoraDepositServiceImpl implements FedoraDepositService {
         try (StringReader reader = new StringReader(turtle)) {
             model.read(reader, null, "TURTLE");
         }
+        return model;
+    }
 
+    private List<String> childrenOf(Model model, String resourceUri) {
         org.apache.jena.rdf.model.Resource resource = model.createResource(resourceUri);
         Property ldpContains = model.createProperty("http://www.w3.org/ns/ldp#contains");
 
-        List<String> childUris = model.listObjectsOfProperty(resource, ldpContains)
+        return model.listObjectsOfProperty(resource, ldpContains)
                 .mapWith(RDFNode::asResource)
                 .mapWith(org.apache.jena.rdf.model.Resource::getURI)
                 .toList();
+    }
 
-        for (String childUri : childUris) {
-            try {
-                logger.debug("Deleting child: {}", childUri);
-                client.delete()
-                        .uri(childUri)
-                        .headers(httpHeaders -> httpHeaders.putAll(this.createHeaders()))
-                        .retrieve()
-                        .toBodilessEntity()
-                        .block();
-            } catch (Exception e) {
-                logger.error("Failed to delete child at {}", childUri, e);
-            }
+    private int deleteChildren(DepositContext context, String resourceUri, List<String> childUris) {
+        if (childUris.isEmpty()) return 0;
+
+        FedoraServiceProperties.ChildDeletion childDeletion = this.fedoraServiceProperties.getChildDeletion();
+
+        List<ChildDeletionResult> deletions = Flux.fromIterable(childUris)
+                .flatMap(childUri -> {
+                    logger.debug("Deleting child: {}", childUri);
+                    return this.delete(context, childUri, Duration.ofMillis(childDeletion.getTimeoutMillis()))
+                            .thenReturn(new ChildDeletionResult(childUri, null))
+                            .onErrorResume(e -> {
+                                logger.error("Failed to delete child at {}", childUri, e);
+                                return Mono.just(new ChildDeletionResult(childUri, e.getMessage()));
+                            });
+                }, Math.max(1, childDeletion.getConcurrency()))
+                .collectList()
+                .block();
+
+        List<ChildDeletionResult> failed = deletions == null ? List.of() : deletions.stream().filter(x -> x.error() != null).toList();
+        if (!failed.isEmpty()) {
+            logger.error(new MapLogEntry("Failed to delete children")
+                    .And("url", resourceUri)
+                    .And("total", childUris.size())
+                    .And("failed", failed));
+            // re-uploading next to children that still exist would hide the real cause behind conflicts
+            throw new MyApplicationException("Failed to delete " + failed.size() + " of " + childUris.size() + " children of " + resourceUri + " " + failed);
         }
+        return childUris.size();
     }
 
 
-    private String deposit(String baseUrl, WebClient client, PlanModel planModel){
-        String response;
+    private String deposit(DepositContext context, String baseUrl, WebClient client, PlanModel planModel, DepositProgressListener listener){
         logger.debug(new MapLogEntry("Deposit")
                 .And("url", baseUrl)
                 .And("plan", planModel));
 
-        response = client.post().uri(baseUrl).headers(httpHeaders -> {
-            httpHeaders.putAll(this.createHeaders());
-        }).contentType(MediaType.valueOf("text/turtle"))
-        .bodyValue(this.fedoraBuilder.build(planModel))
-        .retrieve()
-        .bodyToMono(String.class)
-        .block();
+        String metadata = this.depositMetrics.time(DepositStage.Build, () -> this.fedoraBuilder.build(planModel));
+        if (this.fedoraServiceProperties.isTransactions()) return this.depositInTransaction(context, baseUrl, client, planModel, metadata, listener);
 
-        if (response == null) return null;
+        String response = this.depositMetrics.time(DepositStage.CreateContainer, this.createContainer(context, baseUrl, client, metadata, this.fedoraServiceProperties.isIdempotentCreate())).block();
 
-        this.uploadFiles(planModel, response);
+        if (response == null) return null;
+        listener.onPhase(DepositPhase.MetadataCreated);
+
+        try {
+            this.uploadFiles(context, planModel, response);
+            listener.onPhase(DepositPhase.FilesUploaded);
+        } catch (RuntimeException e) {
+            this.deleteContainer(context, response);
+            throw e;
+        }
 
         return this.getIdFromHandle(response);
     }
 
-    private void uploadFiles(PlanModel planModel, String url){
-        if (planModel.getPdfFile() != null) this.uploadFile(planModel.getPdfFile(), url , "application/pdf", planModel.getVersion());
-        if (planModel.getRdaJsonFile() != null) this.uploadFile(planModel.getRdaJsonFile(), url, "application/json", planModel.getVersion());
-        if (planModel.getSupportingFilesZip() != null) this.uploadFile(planModel.getSupportingFilesZip(), url, "application/zip", planModel.getVersion());
+    private String depositInTransaction(DepositContext context, String baseUrl, WebClient client, PlanModel planModel, String metadata, DepositProgressListener listener) {
+        // the container and its binaries become visible together on commit, so a failure leaves nothing to clean up;
+        // children still need their parent inside the transaction, so only the uploads run concurrently
+        String transaction = this.depositMetrics.time(DepositStage.BeginTransaction, this.guard(client.post()
+                .uri(this.transactionEndpoint())
+                .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                .retrieve()
+                .toBodilessEntity()
+                .map(entity -> {
+                    URI location = entity.getHeaders().getLocation();
+                    if (location == null) throw new MyApplicationException("Fedora did not return a transaction location");
+                    return location.toString();
+                }), FedoraOperation.BeginTransaction))
+                .block();
+        DepositContext transactionContext = context.inTransaction(transaction);
+        Disposable keepAlive = this.keepAlive(context, client, transaction);
+
+        try {
+            // a client-chosen id keeps the create replayable inside the transaction
+            String response = this.depositMetrics.time(DepositStage.CreateContainer, this.createContainer(transactionContext, baseUrl, client, metadata, true)).block();
+            listener.onPhase(DepositPhase.MetadataCreated);
+
+            List<FileUpload> uploads = this.fileUploadsOf(planModel);
+            this.uploadFilesConcurrently(transactionContext, uploads, response, planModel.getVersion(), this.fedoraServiceProperties.getUploadConcurrency()).block();
+            keepAlive.dispose();
+
+            this.depositMetrics.time(DepositStage.CommitTransaction, this.guard(client.put()
+                    .uri(transaction)
+                    .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                    .retrieve()
+                    .toBodilessEntity(), FedoraOperation.CommitTransaction))
+                    .block();
+            listener.onPhase(DepositPhase.FilesUploaded);
+
+            return this.getIdFromHandle(response);
+        } catch (RuntimeException e) {
+            this.rollbackTransaction(context, transaction);
+            throw e;
+        } finally {
+            keepAlive.dispose();
+        }
     }
 
-    private void uploadFile(FileEnvelopeModel fileEnvelopeModel, String baseUrl, String  contentType, int version) {
+    // Fedora expires an idle transaction (3 minutes by default), so it is refreshed while large uploads are still running
+    private Disposable keepAlive(DepositContext context, WebClient client, String transaction) {
+        if (this.fedoraServiceProperties.getTransactionRefreshMillis() <= 0) return Disposables.disposed();
+        Duration refresh = Duration.ofMillis(this.fedoraServiceProperties.getTransactionRefreshMillis());
+        return Flux.interval(refresh, refresh)
+                .concatMap(tick -> client.post()
+                        .uri(transaction)
+                        .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .onErrorResume(e -> {
+                            logger.warn("Failed to refresh transaction {}: {}", transaction, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
 
-        byte[] content = null;
+    private void rollbackTransaction(DepositContext context, String transaction) {
+        logger.debug("Rolling back transaction: {}", transaction);
+        try {
+            this.guard(this.webClient.delete()
+                    .uri(transaction)
+                    .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                    .retrieve()
+                    .toBodilessEntity(), FedoraOperation.RollbackTransaction)
+                    .block();
+        } catch (Exception e) {
+            logger.error("Failed to roll back transaction {}, it will expire on the server", transaction, e);
+        }
+    }
+
+    private Mono<String> createContainer(DepositContext context, String baseUrl, WebClient client, String metadata, boolean clientChosenId) {
+        if (!clientChosenId) {
+            // Fedora mints the identifier; a replayed POST would mint another one, so this call is never retried
+            return this.protect(this.turtleBody(client.post().uri(baseUrl)
+                    .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context), metadata)
+                    .retrieve()
+                    .bodyToMono(String.class));
+        }
+
+        // a client-chosen id with If-None-Match turns the create into an idempotent PUT that is safe to replay
+        String resourceUri = childUriOf(baseUrl, UUID.randomUUID().toString());
+        AtomicInteger attempts = new AtomicInteger();
+
+        return this.guard(Mono.defer(() -> {
+            int attempt = attempts.incrementAndGet();
+            return this.turtleBody(client.put().uri(resourceUri)
+                    .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                    .headers(httpHeaders -> httpHeaders.setIfNoneMatch("*")), metadata)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .thenReturn(resourceUri)
+                    .onErrorResume(e -> attempt > 1 && e instanceof WebClientResponseException responseException && responseException.getStatusCode().value() == HttpStatus.PRECONDITION_FAILED.value(), e -> {
+                        logger.debug("Container {} was already created by a previous attempt", resourceUri);
+                        return Mono.just(resourceUri);
+                    });
+        }), FedoraOperation.CreateContainer);
+    }
+
+    private void deleteContainer(DepositContext context, String resourceUri) {
+        logger.debug("Removing partially deposited container: {}", resourceUri);
+        try {
+            this.delete(context, resourceUri, null).block();
+            this.delete(context, resourceUri + "/fcr:tombstone", null).block();
+        } catch (Exception e) {
+            logger.error("Failed to remove partially deposited container at {}", resourceUri, e);
+        }
+    }
+
+    private Mono<Void> delete(DepositContext context, String uri, Duration timeout) {
+        // a replay after a lost response finds the resource already gone, which is the outcome the first attempt asked for
+        AtomicInteger attempts = new AtomicInteger();
+
+        return this.guard(Mono.defer(() -> {
+            int attempt = attempts.incrementAndGet();
+            Mono<Void> call = this.webClient.delete()
+                    .uri(uri)
+                    .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .then();
+            if (timeout != null) call = call.timeout(timeout);
+            return call.onErrorResume(e -> attempt > 1 && e instanceof WebClientResponseException responseException
+                    && (responseException.getStatusCode().value() == HttpStatus.NOT_FOUND.value() || responseException.getStatusCode().value() == HttpStatus.GONE.value()), e -> {
+                logger.debug("{} was already deleted by a previous attempt", uri);
+                return Mono.empty();
+            });
+        }), FedoraOperation.DeleteChild);
+    }
+
+    private List<FileUpload> fileUploadsOf(PlanModel planModel) {
+        List<FileUpload> uploads = new ArrayList<>();
+        if (planModel.getPdfFile() != null) uploads.add(new FileUpload(planModel.getPdfFile(), "application/pdf", new HashMap<>()));
+        if (planModel.getRdaJsonFile() != null) uploads.add(new FileUpload(planModel.getRdaJsonFile(), "application/json", new HashMap<>()));
+        if (planModel.getSupportingFilesZip() != null) uploads.add(new FileUpload(planModel.getSupportingFilesZip(), "application/zip", new HashMap<>()));
+        return uploads;
+    }
+
+    private void uploadFiles(DepositContext context, PlanModel planModel, String url){
+        this.uploadFiles(context, this.fileUploadsOf(planModel), url, planModel.getVersion());
+    }
+
+    private void uploadFiles(DepositContext context, List<FileUpload> uploads, String url, int version){
+        if (this.fedoraServiceProperties.isParallelUpload()) {
+            this.uploadFilesConcurrently(context, uploads, url, version, this.fedoraServiceProperties.getUploadConcurrency()).block();
+        } else {
+            for (FileUpload upload : uploads) this.uploadFile(context, upload, url, version).block();
+        }
+    }
+
+    private Mono<Void> uploadFilesConcurrently(DepositContext context, List<FileUpload> uploads, String url, int version, int concurrency) {
+        // the first failure terminates the flux, which cancels the uploads still in flight; the error then reports the outcome of every file
+        AtomicReferenceArray<String> outcomes = new AtomicReferenceArray<>(uploads.size());
+        return Flux.range(0, uploads.size())
+                .flatMap(index -> {
+                    FileUpload upload = uploads.get(index);
+                    return this.uploadFile(context, upload, url, version)
+                            .doOnSuccess(x -> outcomes.set(index, "uploaded"))
+                            .doOnError(e -> {
+                                outcomes.set(index, "failed: " + e.getMessage());
+                                logger.error("Failed to upload {} to {}", upload.file().getFilename(), url, e);
+                            })
+                            .doOnCancel(() -> outcomes.compareAndSet(index, null, "cancelled"));
+                }, Math.max(1, concurrency))
+                .then()
+                .onErrorMap(e -> {
+                    List<String> files = new ArrayList<>();
+                    for (int i = 0; i < uploads.size(); i++) {
+                        String outcome = outcomes.get(i);
+                        files.add(uploads.get(i).file().getFilename() + ": " + (outcome != null ? outcome : "not started"));
+                    }
+                    MyApplicationException exception = new MyApplicationException("Failed to upload files to " + url + " " + files);
+                    // the first error stays the cause, so breaker and bulkhead rejections are still mapped to 503
+                    exception.initCause(e);
+                    return exception;
+                });
+    }
+
+    private Mono<Void> uploadFile(DepositContext context, FileUpload upload, String baseUrl, int version) {
+        return Mono.defer(() -> {
+            FileEnvelopeModel fileEnvelopeModel = upload.file();
+            String contentType = upload.contentType();
+            Resource content = this.contentOf(fileEnvelopeModel);
+
+            String url = baseUrl + "/" + FedoraFileNames.cleanFileName(fileEnvelopeModel.getFilename(), version);
+
+            // headers precede the body, so digests come from a streaming pre-pass over the stored buffers rather than from the upload itself
+            List<String> digestAlgorithms = this.uploadDigestAlgorithms();
+            Mono<String> digestHeader = digestAlgorithms.isEmpty() ? Mono.just("") : Mono.fromCallable(() -> digestHeaderOf(this.digestsOf(upload, digestAlgorithms), digestAlgorithms))
+                    .subscribeOn(Schedulers.boundedElastic());
+
+            long contentLength = contentLengthOf(content);
+            if (this.externalContentStager.accepts(contentLength)) {
+                // Fedora pulls staged content itself, so no bytes of it are counted as sent
+                return digestHeader.flatMap(digest -> this.depositMetrics.timeUpload(contentType, DepositMetrics.TRANSFER_EXTERNAL, () -> -1, this.uploadExternalContent(context, upload, content, url, digest)));
+            }
+
+            // the digest describes the stored content, so it is taken before any transfer encoding;
+            // a compressed body is gzipped while it streams, an uncompressed one keeps the zero-copy resource transfer
+            boolean compressed = this.requestCompressor.accepts(contentType, contentLength);
+            AtomicLong compressedLength = new AtomicLong();
+            Flux<DataBuffer> compressedBody = Flux.defer(() -> {
+                compressedLength.set(0);
+                return this.requestCompressor.compress(this.contentBuffersOf(fileEnvelopeModel), contentType)
+                        .doOnNext(buffer -> compressedLength.addAndGet(buffer.readableByteCount()));
+            });
+
+            return digestHeader.flatMap(digest -> this.depositMetrics.timeUpload(contentType, compressed ? DepositMetrics.TRANSFER_GZIP : DepositMetrics.TRANSFER_DIRECT,
+                    compressed ? compressedLength::get : () -> contentLength, this.guard(this.webClient.put().uri(url)
+                    .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                    .headers(httpHeaders -> {
+                        if (!digest.isEmpty()) httpHeaders.set(DIGEST_HEADER, digest);
+                        if (compressed) httpHeaders.set(HttpHeaders.CONTENT_ENCODING, FedoraRequestCompressor.GZIP);
+                    })
+                    .contentType(MediaType.valueOf(contentType))
+                    .body(compressed ? BodyInserters.fromDataBuffers(compressedBody) : BodyInserters
+                            .fromResource(content))
+                    .retrieve().toBodilessEntity(), FedoraOperation.UploadBinary).then()));
+        });
+    }
+
+    private WebClient.RequestHeadersSpec<?> turtleBody(WebClient.RequestBodySpec request, String metadata) {
+        request.contentType(MediaType.valueOf(TURTLE_CONTENT_TYPE));
+        byte[] compressed = this.requestCompressor.compress(metadata.getBytes(StandardCharsets.UTF_8), TURTLE_CONTENT_TYPE);
+        if (compressed == null) return request.bodyValue(metadata);
+        return request.header(HttpHeaders.CONTENT_ENCODING, FedoraRequestCompressor.GZIP).bodyValue(compressed);
+    }
+
+    private Resource contentOf(FileEnvelopeModel fileEnvelopeModel) {
+        Resource content = null;
         if (this.getConfiguration().isUseSharedStorage() && fileEnvelopeModel.getFileRef() != null && !fileEnvelopeModel.getFileRef().isBlank()) {
-            content = this.storageService.readFile(fileEnvelopeModel.getFileRef());
+            content = this.readSharedFile(fileEnvelopeModel.getFileRef());
         }
-        if (content == null || content.length == 0){
-            content = fileEnvelopeModel.getFile();
+        if (content == null){
+            content = new ByteArrayResource(fileEnvelopeModel.getFile());
         }
+        return content;
+    }
 
-        String url = baseUrl + "/" + cleanFileName(fileEnvelopeModel.getFilename(), version);
+    // shared files are read through the storage implementation, which hands out mapped regions when file.storage.type is Channel
+    private Flux<DataBuffer> contentBuffersOf(FileEnvelopeModel fileEnvelopeModel) {
+        if (this.getConfiguration().isUseSharedStorage() && fileEnvelopeModel.getFileRef() != null && !fileEnvelopeModel.getFileRef().isBlank()
+                && this.readSharedFile(fileEnvelopeModel.getFileRef()) != null) {
+            return this.storageService.readFileBuffers(fileEnvelopeModel.getFileRef());
+        }
+        // wrapped per subscription, since a retried request reads the body again
+        return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(fileEnvelopeModel.getFile())));
+    }
 
-        this.getWebClient().put().uri(url).headers(httpHeaders -> {
-                    httpHeaders.putAll(this.createHeaders());
+    // large binaries are staged where Fedora can read them and then referenced, so an interrupted transfer resumes from its checkpoint instead of restarting the PUT
+    private Mono<Void> uploadExternalContent(DepositContext context, FileUpload upload, Resource content, String url, String digest) {
+        return Mono.fromCallable(() -> {
+                    String key = this.digestsOf(upload, List.of(FedoraDigests.SHA_256)).get(FedoraDigests.SHA_256);
+                    if (key == null) throw new IOException("Could not compute staging key of " + upload.file().getFilename());
+                    return key;
                 })
-                .contentType(MediaType.valueOf(contentType))
-                .body(BodyInserters
-                        .fromResource(new ByteArrayResource(content)))
-                .retrieve().toEntity(String.class).block();
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(key -> Mono.fromCallable(() -> this.externalContentStager.stage(content, key))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(stagedUri -> this.guard(this.webClient.put().uri(url)
+                                .attribute(DEPOSIT_CONTEXT_ATTRIBUTE, context)
+                                .headers(httpHeaders -> {
+                                    httpHeaders.set(HttpHeaders.LINK, externalContentLinkOf(stagedUri, upload.contentType()));
+                                    if (!digest.isEmpty()) httpHeaders.set(DIGEST_HEADER, digest);
+                                })
+                                .retrieve().toBodilessEntity(), FedoraOperation.UploadBinary)
+                                .then()
+                                .doFinally(signal -> this.externalContentStager.release(key, signal == SignalType.ON_COMPLETE))))
+                .then();
     }
 
-    private static String cleanFileName(String name, int version){
-        if (name == null || name.isEmpty()) return null;
+    // fcr:tx is served only at the repository root, which the configured repository url (a collection deposits are POSTed into) may lie below
+    private String transactionEndpoint() {
+        String transactionEndpoint = this.fedoraServiceProperties.getTransactionEndpoint();
+        if (transactionEndpoint != null && !transactionEndpoint.isBlank()) return transactionEndpoint;
+
+        String repositoryUrl = this.getConfiguration().getRepositoryUrl();
+        UriComponents repositoryUri = UriComponentsBuilder.fromUriString(repositoryUrl).build();
+        int root = repositoryUri.getPathSegments().indexOf("rest");
+        if (root < 0) return childUriOf(repositoryUrl, "fcr:tx");
+        return UriComponentsBuilder.newInstance()
+                .scheme(repositoryUri.getScheme())
+                .host(repositoryUri.getHost())
+                .port(repositoryUri.getPort())
+                .pathSegment(repositoryUri.getPathSegments().subList(0, root + 1).toArray(String[]::new))
+                .pathSegment("fcr:tx")
+                .build()
+                .toUriString();
+    }
 
-        int extensionIndex = name.lastIndexOf('.');
-        String extension = "";
-        String namePart = "";
-        if (extensionIndex > 0) {
-            extension = name.substring(extensionIndex + 1);
-            namePart = name.substring(0, extensionIndex);
-        }
+    private static String childUriOf(String containerUri, String id) {
+        return containerUri.endsWith("/") ? containerUri + id : containerUri + "/" + id;
+    }
 
-        if (!namePart.isEmpty()) namePart = namePart.replaceAll("[^a-zA-Z0-9_+ ]", "").replace(" ", "_").replace(",", "_");
+    private static long contentLengthOf(Resource content) {
+        try {
+            return content.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
 
-        return namePart + "_V" + version + "." + extension;
+    private Resource readSharedFile(String fileRef) {
+        Path path = this.storageService.resolveFile(fileRef);
+        if (path == null) return null;
+        try {
+            if (Files.size(path) == 0) return null;
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            return null;
+        }
+        // a file-backed resource is written with zero-copy transfer by the reactor connector
+        return new FileSystemResource(path);
     }
 
     @Override
@@ -284,34 +790,104 @@ public class FedoraDepositServiceImpl implements FedoraDepositService {
 
     @Override
     public String getLogo() {
+        RepositoryLogo logoEntry = this.getLogoEntry();
+        return logoEntry != null ? logoEntry.getLogo() : null;
+    }
+
+    @Override
+    public RepositoryLogo getLogoEntry() {
         DepositConfiguration fedoraConfig = this.fedoraServiceProperties.getDepositConfiguration();
-        if(fedoraConfig != null && fedoraConfig.isHasLogo() && this.fedoraServiceProperties.getLogo() != null && !this.fedoraServiceProperties.getLogo().isBlank()) {
-            if (this.logo == null) {
-                try {
-                    Resource resource = resourceLoader.getResource(this.fedoraServiceProperties.getLogo());
-                    if(!resource.isReadable()) return null;
-                    try(InputStream inputStream = resource.getInputStream()) {
-                        this.logo = inputStream.readAllBytes();
-                    }
-                } catch (IOException e) {
-                    logger.error(e.getMessage(), e);
-                    throw new RuntimeException(e);
-                }
+        String logoPath = this.fedoraServiceProperties.getLogo();
+        if (fedoraConfig == null || !fedoraConfig.isHasLogo() || logoPath == null || logoPath.isBlank()) return null;
+
+        String key = this.logoCacheService.buildKey(fedoraConfig.getRepositoryId());
+        LogoCacheService.LogoCacheValue cached = this.logoCacheService.lookup(key);
+        if (cached != null && logoPath.equals(cached.getLogoPath())) return new RepositoryLogo(cached.getLogo(), cached.getETag());
+
+        // a lock rather than synchronized so virtual threads are not pinned while the resource is read
+        this.logoLock.lock();
+        try {
+            cached = this.logoCacheService.lookup(key);
+            if (cached != null && logoPath.equals(cached.getLogoPath())) return new RepositoryLogo(cached.getLogo(), cached.getETag());
+
+            Resource resource = resourceLoader.getResource(logoPath);
+            if (!resource.isReadable()) return null;
+            byte[] logo;
+            try (InputStream inputStream = resource.getInputStream()) {
+                logo = inputStream.readAllBytes();
             }
-            return (this.logo != null && this.logo.length != 0) ? Base64.getEncoder().encodeToString(this.logo) : null;
+            if (logo.length == 0) return null;
+
+            LogoCacheService.LogoCacheValue value = new LogoCacheService.LogoCacheValue(fedoraConfig.getRepositoryId(), logoPath,
+                    Base64.getEncoder().encodeToString(logo), "\"" + DigestUtils.md5DigestAsHex(logo) + "\"");
+            this.logoCacheService.put(key, value);
+            return new RepositoryLogo(value.getLogo(), value.getETag());
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            throw new RuntimeException(e);
+        } finally {
+            this.logoLock.unlock();
         }
-        return null;
     }
 
-    private WebClient getWebClient() {
-        HttpClient httpClient = HttpClient.create()
-                .followRedirect(true);
+    private <T> Mono<T> protect(Mono<T> call) {
+        CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(this.getConfiguration().getRepositoryUrl());
+        return call.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private <T> Mono<T> guard(Mono<T> call, FedoraOperation operation) {
+        Mono<T> protectedCall = this.protect(call);
+
+        FedoraServiceProperties.RetryPolicy policy = this.fedoraServiceProperties.getRetry().policyOf(operation);
+        if (policy == null || policy.getMaxRetries() <= 0) return protectedCall;
+
+        String operationTag = operation.name();
+        AtomicLong retryScheduledAt = new AtomicLong();
+        return protectedCall.retryWhen(Retry.backoff(policy.getMaxRetries(), Duration.ofMillis(policy.getMinBackoffMillis()))
+                .maxBackoff(Duration.ofMillis(policy.getMaxBackoffMillis()))
+                .jitter(policy.getJitter())
+                .filter(FedoraErrors::isTransient)
+                .doBeforeRetry(signal -> {
+                    retryScheduledAt.set(System.nanoTime());
+                    this.meterRegistry.counter("fedora.retry.attempts", "operation", operationTag).increment();
+                    logger.warn(new MapLogEntry("Retrying Fedora call").And("operation", operationTag).And("attempt", signal.totalRetries() + 1).And("error", signal.failure().getMessage()));
+                })
+                .doAfterRetry(signal -> this.meterRegistry.timer("fedora.retry.backoff", "operation", operationTag).record(System.nanoTime() - retryScheduledAt.get(), TimeUnit.NANOSECONDS))
+                .onRetryExhaustedThrow((spec, signal) -> {
+                    this.meterRegistry.counter("fedora.retry.exhausted", "operation", operationTag).increment();
+                    return signal.failure();
+                }));
+    }
+
+    private ConnectionProvider buildConnectionProvider() {
+        FedoraServiceProperties.ConnectionPool pool = this.fedoraServiceProperties.getConnectionPool();
+
+        return ConnectionProvider.builder(CONNECTION_PROVIDER_NAME)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMillis()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMillis()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMillis()))
+                .evictInBackground(Duration.ofMillis(pool.getEvictInBackgroundMillis()))
+                .metrics(pool.isMetricsEnabled())
+                .build();
+    }
+
+    private WebClient buildWebClient(ConnectionProvider provider) {
+        FedoraServiceProperties.ConnectionPool pool = this.fedoraServiceProperties.getConnectionPool();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .followRedirect(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, pool.getConnectTimeoutMillis())
+                .responseTimeout(Duration.ofMillis(pool.getResponseTimeoutMillis()))
+                .metrics(pool.isMetricsEnabled(), uri -> METRICS_URI_TAG);
 
         return WebClient.builder()
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .filters(exchangeFilterFunctions -> {
                     exchangeFilterFunctions.add(logRequest());
                     exchangeFilterFunctions.add(logResponse());
+                    exchangeFilterFunctions.add(authorize());
                 })
                 .codecs(codecs -> codecs
                         .defaultCodecs()
@@ -320,6 +896,17 @@ public class FedoraDepositServiceImpl implements FedoraDepositService {
                 .build();
     }
 
+    private static ExchangeFilterFunction authorize() {
+        // applied after the logging filters so the credential never reaches a log entry
+        return (clientRequest, next) -> {
+            if (!(clientRequest.attribute(DEPOSIT_CONTEXT_ATTRIBUTE).orElse(null) instanceof DepositContext context)) return next.exchange(clientRequest);
+            return next.exchange(ClientRequest.from(clientRequest).headers(httpHeaders -> {
+                httpHeaders.set(HttpHeaders.AUTHORIZATION, context.authorization());
+                if (context.transaction() != null) httpHeaders.set(ATOMIC_ID_HEADER, context.transaction());
+            }).build());
+        };
+    }
+
     private static ExchangeFilterFunction logRequest() {
         return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
             logger.debug(new MapLogEntry("Request").And("method", clientRequest.method().toString()).And("url", clientRequest.url().toString()));
@@ -340,4 +927,21 @@ public class FedoraDepositServiceImpl implements FedoraDepositService {
             
         });
     }
+
+    private record FileUpload(FileEnvelopeModel file, String contentType, Map<String, String> digests) {
+    }
+
+    private record ChildDeletionResult(String uri, String error) {
+    }
+
+    private record DepositContext(String username, String authorization, String transaction) {
+        DepositContext inTransaction(String transaction) {
+            return new DepositContext(this.username, this.authorization, transaction);
+        }
+
+        @Override
+        public String toString() {
+            return "DepositContext[username=" + this.username + ", transaction=" + this.transaction + "]";
+        }
+    }
 }
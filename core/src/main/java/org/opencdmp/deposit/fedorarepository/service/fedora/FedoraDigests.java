@@ -0,0 +1,70 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+public class FedoraDigests {
+
+    public static final String SHA_256 = "sha-256";
+    public static final String MD5 = "md5";
+
+    public static String javaAlgorithmOf(String algorithm) {
+        if (algorithm == null) return null;
+        return switch (algorithm.toLowerCase(Locale.ROOT)) {
+            case "sha1", "sha-1" -> "SHA-1";
+            case "sha256", "sha-256" -> "SHA-256";
+            case "sha512", "sha-512" -> "SHA-512";
+            case "sha-512/256" -> "SHA-512/256";
+            case "md5" -> "MD5";
+            default -> null;
+        };
+    }
+
+    // premis:hasMessageDigest values look like urn:sha-512:<hex>
+    public static Map.Entry<String, String> parseUrn(String urn) {
+        if (urn == null || !urn.startsWith("urn:")) return null;
+        int separator = urn.lastIndexOf(':');
+        if (separator <= 4 || separator == urn.length() - 1) return null;
+        return Map.entry(urn.substring(4, separator).toLowerCase(Locale.ROOT), urn.substring(separator + 1).toLowerCase(Locale.ROOT));
+    }
+
+    // buffers are consumed and released one at a time, so memory use is bounded by the buffer size of the source
+    public static Mono<Map<String, String>> compute(Flux<DataBuffer> buffers, Collection<String> algorithms) {
+        return Mono.defer(() -> {
+            Map<String, MessageDigest> digests = new LinkedHashMap<>();
+            for (String algorithm : algorithms) {
+                String javaAlgorithm = javaAlgorithmOf(algorithm);
+                if (javaAlgorithm == null) continue;
+                try {
+                    digests.put(algorithm, MessageDigest.getInstance(javaAlgorithm));
+                } catch (NoSuchAlgorithmException e) {
+                    return Mono.error(new IllegalStateException(e));
+                }
+            }
+            if (digests.isEmpty()) return Mono.just(Map.<String, String>of());
+
+            return buffers.doOnNext(buffer -> {
+                        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                            while (iterator.hasNext()) {
+                                ByteBuffer byteBuffer = iterator.next();
+                                for (MessageDigest digest : digests.values()) digest.update(byteBuffer.duplicate());
+                            }
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .then(Mono.fromCallable(() -> {
+                        Map<String, String> values = new HashMap<>();
+                        for (Map.Entry<String, MessageDigest> digest : digests.entrySet()) values.put(digest.getKey(), HexFormat.of().formatHex(digest.getValue().digest()));
+                        return values;
+                    }));
+        });
+    }
+}
@@ -0,0 +1,221 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+import gr.cite.tools.logging.LoggerService;
+import org.opencdmp.deposit.fedorarepository.service.storage.FileStorageServiceProperties;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class FedoraExternalContentStager {
+    private static final LoggerService logger = new LoggerService(LoggerFactory.getLogger(FedoraExternalContentStager.class));
+
+    private static final String CHECKPOINT_DIRECTORY = "fedora-staging";
+
+    // regions of the per-key lock file: the copy region is locked exclusively while a file is staged,
+    // the hold region is locked shared by every process with an upload referencing it, so the last one out can tell it may delete
+    private static final long COPY_REGION = 0;
+    private static final long HOLD_REGION = 1;
+
+    private final FedoraServiceProperties fedoraServiceProperties;
+    private final FileStorageServiceProperties fileStorageServiceProperties;
+    private final ConcurrentHashMap<String, StagedContent> stagedContents = new ConcurrentHashMap<>();
+
+    public FedoraExternalContentStager(FedoraServiceProperties fedoraServiceProperties, FileStorageServiceProperties fileStorageServiceProperties) {
+        this.fedoraServiceProperties = fedoraServiceProperties;
+        this.fileStorageServiceProperties = fileStorageServiceProperties;
+
+        FedoraServiceProperties.ExternalContent externalContent = fedoraServiceProperties.getExternalContent();
+        if (externalContent.isEnabled() && (externalContent.getStagingPath() == null || externalContent.getStagingPath().isBlank()))
+            throw new IllegalStateException("fedora.externalContent.stagingPath is required when external content is enabled");
+        if (externalContent.isEnabled() && (externalContent.getStagingUri() == null || externalContent.getStagingUri().isBlank()))
+            throw new IllegalStateException("fedora.externalContent.stagingUri is required when external content is enabled");
+    }
+
+    public boolean accepts(long length) {
+        FedoraServiceProperties.ExternalContent externalContent = this.fedoraServiceProperties.getExternalContent();
+        return externalContent.isEnabled() && length >= externalContent.getThresholdBytes();
+    }
+
+    // every successful stage holds the staged file until it is released, so a deposit never loses a file another deposit still points Fedora at
+    public String stage(Resource content, String key) throws IOException {
+        Path stagingDirectory = Files.createDirectories(Paths.get(this.fedoraServiceProperties.getExternalContent().getStagingPath()));
+        StagedContent stagedContent = this.hold(key, stagingDirectory);
+        stagedContent.lock.lock();
+        try (FileLock ignored = stagedContent.channel.lock(COPY_REGION, 1, false)) {
+            return this.copy(content, key, stagingDirectory);
+        } catch (IOException | RuntimeException e) {
+            this.release(key, false);
+            throw e;
+        } finally {
+            stagedContent.lock.unlock();
+        }
+    }
+
+    // the staged file is removed once its last holder lets go, if any holder finished its upload and releaseAfterUpload is set
+    public void release(String key, boolean uploaded) {
+        boolean remove = uploaded && this.fedoraServiceProperties.getExternalContent().isReleaseAfterUpload();
+        this.stagedContents.computeIfPresent(key, (k, stagedContent) -> {
+            stagedContent.removable |= remove;
+            if (--stagedContent.holders > 0) return stagedContent;
+            Path stagingDirectory = Paths.get(this.fedoraServiceProperties.getExternalContent().getStagingPath());
+            stagedContent.close(stagingDirectory.resolve(k), stagingDirectory.resolve(k + ".lock"));
+            return null;
+        });
+    }
+
+    private StagedContent hold(String key, Path stagingDirectory) throws IOException {
+        try {
+            return this.stagedContents.compute(key, (k, stagedContent) -> {
+                StagedContent held = stagedContent != null ? stagedContent : StagedContent.open(stagingDirectory.resolve(k + ".lock"));
+                held.holders++;
+                return held;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // copies the content into the staging area segment by segment, resuming from the last checkpoint left by an interrupted attempt
+    private String copy(Resource content, String key, Path stagingDirectory) throws IOException {
+        FedoraServiceProperties.ExternalContent externalContent = this.fedoraServiceProperties.getExternalContent();
+        Path staged = stagingDirectory.resolve(key);
+        long length = content.contentLength();
+        if (Files.isRegularFile(staged) && Files.size(staged) == length) return this.uriOf(key);
+
+        Path part = stagingDirectory.resolve(key + ".part");
+        Path checkpoint = this.checkpointDirectory().resolve(key + ".checkpoint");
+        long position = this.readCheckpoint(checkpoint, part);
+
+        try (ReadableByteChannel source = content.readableChannel();
+             FileChannel target = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (position > 0) {
+                if (source instanceof SeekableByteChannel seekable) {
+                    seekable.position(position);
+                    logger.debug("Resuming staging of {} at {} of {} bytes", key, position, length);
+                } else {
+                    position = 0;
+                }
+            }
+            target.truncate(position);
+
+            long segmentSize = Math.max(1, externalContent.getSegmentSizeBytes());
+            while (position < length) {
+                long copied = target.transferFrom(source, position, Math.min(segmentSize, length - position));
+                if (copied <= 0) throw new IOException("Unexpected end of content while staging " + key);
+                position += copied;
+                target.force(false);
+                this.writeCheckpoint(checkpoint, position);
+            }
+        }
+
+        Files.move(part, staged, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(checkpoint);
+        return this.uriOf(key);
+    }
+
+    private String uriOf(String key) {
+        String stagingUri = this.fedoraServiceProperties.getExternalContent().getStagingUri();
+        return stagingUri.endsWith("/") ? stagingUri + key : stagingUri + "/" + key;
+    }
+
+    private Path checkpointDirectory() throws IOException {
+        return Files.createDirectories(Paths.get(this.fileStorageServiceProperties.getTemp(), CHECKPOINT_DIRECTORY));
+    }
+
+    private long readCheckpoint(Path checkpoint, Path part) {
+        try {
+            if (!Files.isRegularFile(checkpoint) || !Files.isRegularFile(part)) return 0;
+            long saved = Long.parseLong(Files.readString(checkpoint, StandardCharsets.UTF_8).trim());
+            return Math.max(0, Math.min(saved, Files.size(part)));
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable staging checkpoint {}: {}", checkpoint, e.getMessage());
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(Path checkpoint, long position) throws IOException {
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(position), StandardCharsets.UTF_8);
+        Files.move(temp, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static class StagedContent {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final FileChannel channel;
+        private final FileLock holdLock;
+        private int holders;
+        private boolean removable;
+
+        private StagedContent(FileChannel channel, FileLock holdLock) {
+            this.channel = channel;
+            this.holdLock = holdLock;
+        }
+
+        // the last holder deletes the lock file, so a lock taken on a file that was deleted meanwhile is dropped and taken again on the new one
+        private static StagedContent open(Path lockFile) {
+            try {
+                while (true) {
+                    Object before = fileKeyOf(lockFile);
+                    FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    try {
+                        FileLock holdLock = channel.lock(HOLD_REGION, 1, true);
+                        Object after = fileKeyOf(lockFile);
+                        // without file keys the file system cannot tell the two apart, so the lock is taken as is
+                        if ((after != null && after.equals(before)) || (after == null && Files.exists(lockFile))) return new StagedContent(channel, holdLock);
+                        channel.close();
+                    } catch (IOException | RuntimeException e) {
+                        channel.close();
+                        throw e;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static Object fileKeyOf(Path path) {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        // the hold region can only be locked exclusively when no other process still holds the file;
+        // the lock file goes with it so the staging directory does not fill up with one per staged key
+        private void close(Path staged, Path lockFile) {
+            try {
+                this.holdLock.release();
+                try (FileLock exclusive = this.channel.tryLock(HOLD_REGION, 1, false)) {
+                    if (exclusive != null) {
+                        if (this.removable) Files.deleteIfExists(staged);
+                        Files.deleteIfExists(lockFile);
+                    } else if (this.removable) {
+                        logger.debug("Keeping staged content {} held by another process", staged);
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to remove staged content {}: {}", staged, e.getMessage());
+            } finally {
+                try {
+                    this.channel.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close staging lock {}: {}", staged, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class FedoraFileNames {
+
+    private static final Pattern VERSION_SUFFIX = Pattern.compile("^(.*)_V\\d+(\\.[^.]*)$");
+
+    public static String cleanFileName(String name, int version){
+        if (name == null || name.isEmpty()) return null;
+
+        int extensionIndex = name.lastIndexOf('.');
+        String extension = "";
+        String namePart = "";
+        if (extensionIndex > 0) {
+            extension = name.substring(extensionIndex + 1);
+            namePart = name.substring(0, extensionIndex);
+        }
+
+        if (!namePart.isEmpty()) namePart = namePart.replaceAll("[^a-zA-Z0-9_+ ]", "").replace(" ", "_").replace(",", "_");
+
+        return namePart + "_V" + version + "." + extension;
+    }
+
+    // the name a file keeps across versions, e.g. plan_V3.pdf -> plan.pdf
+    public static String unversionedFileName(String fileName) {
+        if (fileName == null) return null;
+        Matcher matcher = VERSION_SUFFIX.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) + matcher.group(2) : fileName;
+    }
+}
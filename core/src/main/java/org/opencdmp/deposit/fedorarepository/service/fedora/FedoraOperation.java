@@ -0,0 +1,13 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+public enum FedoraOperation {
+	CreateContainer,
+	CreateVersion,
+	UpdateMetadata,
+	ReadContainer,
+	UploadBinary,
+	DeleteChild,
+	BeginTransaction,
+	CommitTransaction,
+	RollbackTransaction
+}
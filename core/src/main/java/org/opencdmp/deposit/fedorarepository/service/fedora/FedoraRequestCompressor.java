@@ -0,0 +1,99 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+import gr.cite.tools.logging.LoggerService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class FedoraRequestCompressor {
+    private static final LoggerService logger = new LoggerService(LoggerFactory.getLogger(FedoraRequestCompressor.class));
+
+    public static final String GZIP = "gzip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FedoraServiceProperties fedoraServiceProperties;
+    private final MeterRegistry meterRegistry;
+
+    public FedoraRequestCompressor(FedoraServiceProperties fedoraServiceProperties, MeterRegistry meterRegistry) {
+        this.fedoraServiceProperties = fedoraServiceProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public byte[] compress(byte[] content, String contentType) {
+        if (!this.accepts(contentType, content.length)) return null;
+        return this.gzip(content, contentType);
+    }
+
+    public boolean accepts(String contentType, long length) {
+        FedoraServiceProperties.RequestCompression compression = this.fedoraServiceProperties.getRequestCompression();
+        return compression.isEnabled()
+                && length >= compression.getMinSizeBytes()
+                && length <= compression.getMaxSizeBytes()
+                && compression.getContentTypes().contains(contentType);
+    }
+
+    // buffers are deflated one at a time as they are read, on the bounded elastic pool, so the body is never held whole on the heap;
+    // the headers are sent before the outcome is known, so unlike the byte[] variant a body that does not shrink is still sent gzipped
+    public Flux<DataBuffer> compress(Flux<DataBuffer> content, String contentType) {
+        return Flux.defer(() -> {
+            long started = System.nanoTime();
+            AtomicLong read = new AtomicLong();
+            AtomicLong written = new AtomicLong();
+            return Flux.from(DataBufferUtils.outputStreamPublisher(outputStream -> {
+                        try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream, BUFFER_SIZE)) {
+                            for (DataBuffer buffer : content.toIterable(1)) {
+                                try (InputStream inputStream = buffer.asInputStream(true)) {
+                                    read.addAndGet(inputStream.transferTo(gzip));
+                                }
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, DefaultDataBufferFactory.sharedInstance, runnable -> Schedulers.boundedElastic().schedule(runnable), BUFFER_SIZE))
+                    .doOnNext(buffer -> written.addAndGet(buffer.readableByteCount()))
+                    .doOnComplete(() -> {
+                        this.meterRegistry.timer("fedora.request.compression", "contentType", contentType).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        this.record(contentType, read.get(), written.get());
+                    });
+        });
+    }
+
+    private byte[] gzip(byte[] content, String contentType) {
+        long started = System.nanoTime();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            logger.warn("Sending {} uncompressed: {}", contentType, e.getMessage());
+            return null;
+        }
+        this.meterRegistry.timer("fedora.request.compression", "contentType", contentType).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        // a payload that does not shrink is sent as is
+        if (compressed.size() >= content.length) return null;
+        this.record(contentType, content.length, compressed.size());
+        return compressed.toByteArray();
+    }
+
+    private void record(String contentType, long length, long compressedLength) {
+        if (length <= 0) return;
+        DistributionSummary.builder("fedora.request.compression.ratio").tag("contentType", contentType).register(this.meterRegistry).record((double) compressedLength / length);
+        this.meterRegistry.counter("fedora.request.compression.saved.bytes", "contentType", contentType).increment(Math.max(0, length - compressedLength));
+    }
+}
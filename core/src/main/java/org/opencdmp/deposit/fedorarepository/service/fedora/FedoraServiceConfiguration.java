@@ -1,9 +1,44 @@
 package org.opencdmp.deposit.fedorarepository.service.fedora;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @EnableConfigurationProperties({FedoraServiceProperties.class})
 public class FedoraServiceConfiguration {
+
+    public static final String DEPOSIT_BULKHEAD = "fedoraDeposit";
+
+    @Bean
+    public CircuitBreakerRegistry fedoraCircuitBreakerRegistry(FedoraServiceProperties properties) {
+        FedoraServiceProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                .slowCallRateThreshold(circuitBreaker.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(circuitBreaker.getSlowCallDurationThresholdMillis()))
+                .slidingWindowSize(circuitBreaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(circuitBreaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(Duration.ofMillis(circuitBreaker.getWaitDurationInOpenStateMillis()))
+                .permittedNumberOfCallsInHalfOpenState(circuitBreaker.getPermittedNumberOfCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(FedoraErrors::isRepositoryFailure)
+                .build();
+        return CircuitBreakerRegistry.of(config);
+    }
+
+    @Bean
+    public Bulkhead fedoraDepositBulkhead(FedoraServiceProperties properties) {
+        FedoraServiceProperties.Bulkhead bulkhead = properties.getBulkhead();
+        return Bulkhead.of(DEPOSIT_BULKHEAD, BulkheadConfig.custom()
+                .maxConcurrentCalls(bulkhead.getMaxConcurrentDeposits())
+                .maxWaitDuration(Duration.ofMillis(bulkhead.getMaxWaitMillis()))
+                .build());
+    }
 }
@@ -26,6 +26,40 @@ public class FedoraServiceProperties {
 
     private List<String> acceptedTypeCodes;
 
+    private ConnectionPool connectionPool = new ConnectionPool();
+
+    private boolean parallelUpload;
+
+    private int uploadConcurrency = 3;
+
+    private boolean incrementalVersions;
+
+    private boolean serverSideCopy;
+
+    private boolean transactions;
+
+    private String transactionEndpoint;
+
+    private long transactionRefreshMillis = 60000;
+
+    private boolean idempotentCreate;
+
+    private UploadDigest uploadDigest = new UploadDigest();
+
+    private RequestCompression requestCompression = new RequestCompression();
+
+    private ExternalContent externalContent = new ExternalContent();
+
+    private ChildDeletion childDeletion = new ChildDeletion();
+
+    private MetadataSerializer metadataSerializer = MetadataSerializer.Jena;
+
+    private Retry retry = new Retry();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Bulkhead bulkhead = new Bulkhead();
+
     public String getCollection() {
         return collection;
     }
@@ -97,4 +131,638 @@ public class FedoraServiceProperties {
     public void setMaxInMemorySizeInBytes(int maxInMemorySizeInBytes) {
         this.maxInMemorySizeInBytes = maxInMemorySizeInBytes;
     }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    public void setConnectionPool(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    public boolean isParallelUpload() {
+        return parallelUpload;
+    }
+
+    public void setParallelUpload(boolean parallelUpload) {
+        this.parallelUpload = parallelUpload;
+    }
+
+    public boolean isIncrementalVersions() {
+        return incrementalVersions;
+    }
+
+    public void setIncrementalVersions(boolean incrementalVersions) {
+        this.incrementalVersions = incrementalVersions;
+    }
+
+    public boolean isServerSideCopy() {
+        return serverSideCopy;
+    }
+
+    public void setServerSideCopy(boolean serverSideCopy) {
+        this.serverSideCopy = serverSideCopy;
+    }
+
+    public boolean isTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(boolean transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getTransactionEndpoint() {
+        return transactionEndpoint;
+    }
+
+    public void setTransactionEndpoint(String transactionEndpoint) {
+        this.transactionEndpoint = transactionEndpoint;
+    }
+
+    public long getTransactionRefreshMillis() {
+        return transactionRefreshMillis;
+    }
+
+    public void setTransactionRefreshMillis(long transactionRefreshMillis) {
+        this.transactionRefreshMillis = transactionRefreshMillis;
+    }
+
+    public boolean isIdempotentCreate() {
+        return idempotentCreate;
+    }
+
+    public void setIdempotentCreate(boolean idempotentCreate) {
+        this.idempotentCreate = idempotentCreate;
+    }
+
+    public ExternalContent getExternalContent() {
+        return externalContent;
+    }
+
+    public void setExternalContent(ExternalContent externalContent) {
+        this.externalContent = externalContent;
+    }
+
+    public RequestCompression getRequestCompression() {
+        return requestCompression;
+    }
+
+    public void setRequestCompression(RequestCompression requestCompression) {
+        this.requestCompression = requestCompression;
+    }
+
+    public UploadDigest getUploadDigest() {
+        return uploadDigest;
+    }
+
+    public void setUploadDigest(UploadDigest uploadDigest) {
+        this.uploadDigest = uploadDigest;
+    }
+
+    public int getUploadConcurrency() {
+        return uploadConcurrency;
+    }
+
+    public void setUploadConcurrency(int uploadConcurrency) {
+        this.uploadConcurrency = uploadConcurrency;
+    }
+
+    public ChildDeletion getChildDeletion() {
+        return childDeletion;
+    }
+
+    public void setChildDeletion(ChildDeletion childDeletion) {
+        this.childDeletion = childDeletion;
+    }
+
+    public MetadataSerializer getMetadataSerializer() {
+        return metadataSerializer;
+    }
+
+    public void setMetadataSerializer(MetadataSerializer metadataSerializer) {
+        this.metadataSerializer = metadataSerializer;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public static class ConnectionPool {
+
+        private int maxConnections = 50;
+
+        private int pendingAcquireMaxCount = 100;
+
+        private long pendingAcquireTimeoutMillis = 45000;
+
+        private long maxIdleTimeMillis = 30000;
+
+        private long maxLifeTimeMillis = 300000;
+
+        private long evictInBackgroundMillis = 60000;
+
+        private int connectTimeoutMillis = 10000;
+
+        private long responseTimeoutMillis = 120000;
+
+        private boolean metricsEnabled = true;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public long getPendingAcquireTimeoutMillis() {
+            return pendingAcquireTimeoutMillis;
+        }
+
+        public void setPendingAcquireTimeoutMillis(long pendingAcquireTimeoutMillis) {
+            this.pendingAcquireTimeoutMillis = pendingAcquireTimeoutMillis;
+        }
+
+        public long getMaxIdleTimeMillis() {
+            return maxIdleTimeMillis;
+        }
+
+        public void setMaxIdleTimeMillis(long maxIdleTimeMillis) {
+            this.maxIdleTimeMillis = maxIdleTimeMillis;
+        }
+
+        public long getMaxLifeTimeMillis() {
+            return maxLifeTimeMillis;
+        }
+
+        public void setMaxLifeTimeMillis(long maxLifeTimeMillis) {
+            this.maxLifeTimeMillis = maxLifeTimeMillis;
+        }
+
+        public long getEvictInBackgroundMillis() {
+            return evictInBackgroundMillis;
+        }
+
+        public void setEvictInBackgroundMillis(long evictInBackgroundMillis) {
+            this.evictInBackgroundMillis = evictInBackgroundMillis;
+        }
+
+        public int getConnectTimeoutMillis() {
+            return connectTimeoutMillis;
+        }
+
+        public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+        }
+
+        public long getResponseTimeoutMillis() {
+            return responseTimeoutMillis;
+        }
+
+        public void setResponseTimeoutMillis(long responseTimeoutMillis) {
+            this.responseTimeoutMillis = responseTimeoutMillis;
+        }
+
+        public boolean isMetricsEnabled() {
+            return metricsEnabled;
+        }
+
+        public void setMetricsEnabled(boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+        }
+    }
+
+    public static class ChildDeletion {
+
+        private int concurrency = 4;
+
+        private long timeoutMillis = 30000;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public long getTimeoutMillis() {
+            return timeoutMillis;
+        }
+
+        public void setTimeoutMillis(long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+
+    public static class Retry {
+
+        private RetryPolicy createContainer = new RetryPolicy();
+
+        private RetryPolicy createVersion = new RetryPolicy(0);
+
+        private RetryPolicy updateMetadata = new RetryPolicy();
+
+        private RetryPolicy readContainer = new RetryPolicy();
+
+        private RetryPolicy uploadBinary = new RetryPolicy();
+
+        private RetryPolicy deleteChild = new RetryPolicy();
+
+        private RetryPolicy beginTransaction = new RetryPolicy(0);
+
+        private RetryPolicy commitTransaction = new RetryPolicy(0);
+
+        private RetryPolicy rollbackTransaction = new RetryPolicy();
+
+        public RetryPolicy policyOf(FedoraOperation operation) {
+            return switch (operation) {
+                case CreateContainer -> createContainer;
+                case CreateVersion -> createVersion;
+                case UpdateMetadata -> updateMetadata;
+                case ReadContainer -> readContainer;
+                case UploadBinary -> uploadBinary;
+                case DeleteChild -> deleteChild;
+                case BeginTransaction -> beginTransaction;
+                case CommitTransaction -> commitTransaction;
+                case RollbackTransaction -> rollbackTransaction;
+            };
+        }
+
+        public RetryPolicy getCreateContainer() {
+            return createContainer;
+        }
+
+        public void setCreateContainer(RetryPolicy createContainer) {
+            this.createContainer = createContainer;
+        }
+
+        public RetryPolicy getCreateVersion() {
+            return createVersion;
+        }
+
+        public void setCreateVersion(RetryPolicy createVersion) {
+            this.createVersion = createVersion;
+        }
+
+        public RetryPolicy getUpdateMetadata() {
+            return updateMetadata;
+        }
+
+        public void setUpdateMetadata(RetryPolicy updateMetadata) {
+            this.updateMetadata = updateMetadata;
+        }
+
+        public RetryPolicy getReadContainer() {
+            return readContainer;
+        }
+
+        public void setReadContainer(RetryPolicy readContainer) {
+            this.readContainer = readContainer;
+        }
+
+        public RetryPolicy getUploadBinary() {
+            return uploadBinary;
+        }
+
+        public void setUploadBinary(RetryPolicy uploadBinary) {
+            this.uploadBinary = uploadBinary;
+        }
+
+        public RetryPolicy getDeleteChild() {
+            return deleteChild;
+        }
+
+        public void setDeleteChild(RetryPolicy deleteChild) {
+            this.deleteChild = deleteChild;
+        }
+
+        public RetryPolicy getBeginTransaction() {
+            return beginTransaction;
+        }
+
+        public void setBeginTransaction(RetryPolicy beginTransaction) {
+            this.beginTransaction = beginTransaction;
+        }
+
+        public RetryPolicy getCommitTransaction() {
+            return commitTransaction;
+        }
+
+        public void setCommitTransaction(RetryPolicy commitTransaction) {
+            this.commitTransaction = commitTransaction;
+        }
+
+        public RetryPolicy getRollbackTransaction() {
+            return rollbackTransaction;
+        }
+
+        public void setRollbackTransaction(RetryPolicy rollbackTransaction) {
+            this.rollbackTransaction = rollbackTransaction;
+        }
+    }
+
+    public static class RetryPolicy {
+
+        private int maxRetries = 3;
+
+        private long minBackoffMillis = 200;
+
+        private long maxBackoffMillis = 5000;
+
+        private double jitter = 0.5;
+
+        public RetryPolicy() {
+        }
+
+        public RetryPolicy(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public long getMinBackoffMillis() {
+            return minBackoffMillis;
+        }
+
+        public void setMinBackoffMillis(long minBackoffMillis) {
+            this.minBackoffMillis = minBackoffMillis;
+        }
+
+        public long getMaxBackoffMillis() {
+            return maxBackoffMillis;
+        }
+
+        public void setMaxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+    }
+
+    public static class CircuitBreaker {
+
+        private float failureRateThreshold = 50;
+
+        private float slowCallRateThreshold = 100;
+
+        private long slowCallDurationThresholdMillis = 60000;
+
+        private int slidingWindowSize = 20;
+
+        private int minimumNumberOfCalls = 10;
+
+        private long waitDurationInOpenStateMillis = 30000;
+
+        private int permittedNumberOfCallsInHalfOpenState = 3;
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public long getSlowCallDurationThresholdMillis() {
+            return slowCallDurationThresholdMillis;
+        }
+
+        public void setSlowCallDurationThresholdMillis(long slowCallDurationThresholdMillis) {
+            this.slowCallDurationThresholdMillis = slowCallDurationThresholdMillis;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public long getWaitDurationInOpenStateMillis() {
+            return waitDurationInOpenStateMillis;
+        }
+
+        public void setWaitDurationInOpenStateMillis(long waitDurationInOpenStateMillis) {
+            this.waitDurationInOpenStateMillis = waitDurationInOpenStateMillis;
+        }
+
+        public int getPermittedNumberOfCallsInHalfOpenState() {
+            return permittedNumberOfCallsInHalfOpenState;
+        }
+
+        public void setPermittedNumberOfCallsInHalfOpenState(int permittedNumberOfCallsInHalfOpenState) {
+            this.permittedNumberOfCallsInHalfOpenState = permittedNumberOfCallsInHalfOpenState;
+        }
+    }
+
+    public static class Bulkhead {
+
+        private int maxConcurrentDeposits = 20;
+
+        private long maxWaitMillis = 10000;
+
+        public int getMaxConcurrentDeposits() {
+            return maxConcurrentDeposits;
+        }
+
+        public void setMaxConcurrentDeposits(int maxConcurrentDeposits) {
+            this.maxConcurrentDeposits = maxConcurrentDeposits;
+        }
+
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public void setMaxWaitMillis(long maxWaitMillis) {
+            this.maxWaitMillis = maxWaitMillis;
+        }
+    }
+
+    public static class UploadDigest {
+
+        private boolean enabled = true;
+
+        private boolean md5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isMd5() {
+            return md5;
+        }
+
+        public void setMd5(boolean md5) {
+            this.md5 = md5;
+        }
+    }
+
+    public static class RequestCompression {
+
+        private boolean enabled;
+
+        private long minSizeBytes = 4096;
+
+        private long maxSizeBytes = 16777216;
+
+        private List<String> contentTypes = List.of("text/turtle", "application/json");
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMinSizeBytes() {
+            return minSizeBytes;
+        }
+
+        public void setMinSizeBytes(long minSizeBytes) {
+            this.minSizeBytes = minSizeBytes;
+        }
+
+        public long getMaxSizeBytes() {
+            return maxSizeBytes;
+        }
+
+        public void setMaxSizeBytes(long maxSizeBytes) {
+            this.maxSizeBytes = maxSizeBytes;
+        }
+
+        public List<String> getContentTypes() {
+            return contentTypes;
+        }
+
+        public void setContentTypes(List<String> contentTypes) {
+            this.contentTypes = contentTypes;
+        }
+    }
+
+    public static class ExternalContent {
+
+        private boolean enabled;
+
+        private long thresholdBytes = 104857600;
+
+        private long segmentSizeBytes = 8388608;
+
+        private String stagingPath;
+
+        private String stagingUri;
+
+        private boolean releaseAfterUpload = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getThresholdBytes() {
+            return thresholdBytes;
+        }
+
+        public void setThresholdBytes(long thresholdBytes) {
+            this.thresholdBytes = thresholdBytes;
+        }
+
+        public long getSegmentSizeBytes() {
+            return segmentSizeBytes;
+        }
+
+        public void setSegmentSizeBytes(long segmentSizeBytes) {
+            this.segmentSizeBytes = segmentSizeBytes;
+        }
+
+        public String getStagingPath() {
+            return stagingPath;
+        }
+
+        public void setStagingPath(String stagingPath) {
+            this.stagingPath = stagingPath;
+        }
+
+        public String getStagingUri() {
+            return stagingUri;
+        }
+
+        public void setStagingUri(String stagingUri) {
+            this.stagingUri = stagingUri;
+        }
+
+        public boolean isReleaseAfterUpload() {
+            return releaseAfterUpload;
+        }
+
+        public void setReleaseAfterUpload(boolean releaseAfterUpload) {
+            this.releaseAfterUpload = releaseAfterUpload;
+        }
+    }
 }
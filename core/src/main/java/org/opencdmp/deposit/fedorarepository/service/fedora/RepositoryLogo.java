@@ -0,0 +1,21 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+public class RepositoryLogo {
+
+    private final String logo;
+
+    private final String eTag;
+
+    public RepositoryLogo(String logo, String eTag) {
+        this.logo = logo;
+        this.eTag = eTag;
+    }
+
+    public String getLogo() {
+        return logo;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+}
@@ -0,0 +1,67 @@
+package org.opencdmp.deposit.fedorarepository.service.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(prefix = "file.storage", name = "type", havingValue = "Channel")
+public class ChannelFileStorageServiceImpl extends FileStorageServiceImpl {
+
+    private static final int MAPPED_REGION_SIZE = 8 * 1024 * 1024;
+
+    public ChannelFileStorageServiceImpl(FileStorageServiceProperties properties) {
+        super(properties);
+    }
+
+    @Override
+    protected void writeBytes(Path path, byte[] data, OpenOption... options) throws IOException {
+        List<OpenOption> openOptions = new ArrayList<>(List.of(options));
+        openOptions.add(StandardOpenOption.WRITE);
+        if (!openOptions.contains(StandardOpenOption.CREATE_NEW)) openOptions.add(StandardOpenOption.CREATE);
+        try (FileChannel channel = FileChannel.open(path, openOptions.toArray(OpenOption[]::new))) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    @Override
+    protected Flux<DataBuffer> readBuffers(Path path) {
+        // mapped regions stay valid after the channel is closed, so buffers can outlive the read
+        return Flux.using(() -> FileChannel.open(path, StandardOpenOption.READ),
+                channel -> Flux.<DataBuffer, Long>generate(() -> 0L, (position, sink) -> {
+                    try {
+                        long size = channel.size();
+                        if (position >= size) {
+                            sink.complete();
+                            return position;
+                        }
+                        long length = Math.min(MAPPED_REGION_SIZE, size - position);
+                        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                        sink.next(DefaultDataBufferFactory.sharedInstance.wrap(region));
+                        return position + length;
+                    } catch (IOException e) {
+                        sink.error(e);
+                        return position;
+                    }
+                }),
+                channel -> {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                    }
+                });
+    }
+}
@@ -1,7 +1,16 @@
 package org.opencdmp.deposit.fedorarepository.service.storage;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+
 public interface FileStorageService {
 	String storeFile(byte[] data);
 
 	byte[] readFile(String fileRef);
+
+	Path resolveFile(String fileRef);
+
+	Flux<DataBuffer> readFileBuffers(String fileRef);
 }
@@ -2,8 +2,10 @@ package org.opencdmp.deposit.fedorarepository.service.storage;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
 @EnableConfigurationProperties({FileStorageServiceProperties.class})
 public class FileStorageServiceConfiguration {
 }
@@ -1,23 +1,35 @@
 package org.opencdmp.deposit.fedorarepository.service.storage;
 
+import gr.cite.tools.exception.MyNotFoundException;
 import gr.cite.tools.logging.LoggerService;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.Locale;
 import java.util.UUID;
 
 @Service
+@ConditionalOnProperty(prefix = "file.storage", name = "type", havingValue = "Stream", matchIfMissing = true)
 public class FileStorageServiceImpl implements FileStorageService {
     private static final LoggerService logger = new LoggerService(LoggerFactory.getLogger(FileStorageServiceImpl.class));
 
+    private static final int SHARD_PREFIX_LENGTH = 2;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
     private final FileStorageServiceProperties properties;
 
     @Autowired
@@ -27,10 +39,12 @@ public class FileStorageServiceImpl implements FileStorageService {
 
     @Override
     public String storeFile(byte[] data) {
+        if (this.properties.isContentAddressed()) return this.storeContentAddressed(data);
         try {
             String fileName = UUID.randomUUID().toString().replace("-", "").toLowerCase(Locale.ROOT);
-            Path storagePath = Paths.get(properties.getTransientPath() + "/" + fileName);
-            Files.write(storagePath, data, StandardOpenOption.CREATE_NEW);
+            Path storagePath = this.shardedPath(fileName);
+            Files.createDirectories(storagePath.getParent());
+            this.writeBytes(storagePath, data, StandardOpenOption.CREATE_NEW);
             return fileName;
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
@@ -38,13 +52,117 @@ public class FileStorageServiceImpl implements FileStorageService {
         return null;
     }
 
+    private String storeContentAddressed(byte[] data) {
+        try {
+            String fileName = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+            if (this.touch(fileName)) return fileName;
+
+            Path storagePath = this.shardedPath(fileName);
+            Files.createDirectories(storagePath.getParent());
+
+            Path tempFile = this.createTempFile(fileName, storagePath.getParent());
+            try {
+                this.writeBytes(tempFile, data, StandardOpenOption.TRUNCATE_EXISTING);
+                try {
+                    Files.move(tempFile, storagePath, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Path sibling = Files.createTempFile(storagePath.getParent(), fileName, ".tmp");
+                    Files.move(tempFile, sibling, StandardCopyOption.REPLACE_EXISTING);
+                    tempFile = sibling;
+                    Files.move(tempFile, storagePath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (FileAlreadyExistsException e) {
+                logger.debug("Shared storage file {} was written concurrently", fileName);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            return fileName;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    // the existence check and the refresh are the same call, so the sweeper cannot remove a hit between the two
+    private boolean touch(String fileRef) throws IOException {
+        FileTime now = FileTime.from(Instant.now());
+        for (Path candidate : new Path[]{this.shardedPath(fileRef), this.flatPath(fileRef)}) {
+            try {
+                Files.setLastModifiedTime(candidate, now);
+                return true;
+            } catch (NoSuchFileException e) {
+                // not stored under this layout
+            }
+        }
+        return false;
+    }
+
+    private Path createTempFile(String prefix, Path fallbackDirectory) throws IOException {
+        if (this.properties.getTemp() != null) {
+            Path tempDirectory = Paths.get(this.properties.getTemp());
+            Files.createDirectories(tempDirectory);
+            return Files.createTempFile(tempDirectory, prefix, ".tmp");
+        }
+        return Files.createTempFile(fallbackDirectory, prefix, ".tmp");
+    }
+
     @Override
     public byte[] readFile(String fileRef) {
-        try (FileInputStream inputStream = new FileInputStream(properties.getTransientPath() + "/" + fileRef)) {
-            return inputStream.readAllBytes();
+        Path path = this.locate(fileRef);
+        if (path == null) path = this.flatPath(fileRef);
+        try {
+            return this.readBytes(path);
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         }
         return new byte[0];
     }
+
+    @Override
+    public Flux<DataBuffer> readFileBuffers(String fileRef) {
+        Path path = this.locate(fileRef);
+        if (path == null) return Flux.error(new MyNotFoundException("Shared storage file " + fileRef + " not found"));
+        return this.readBuffers(path);
+    }
+
+    protected void writeBytes(Path path, byte[] data, OpenOption... options) throws IOException {
+        Files.write(path, data, options);
+    }
+
+    protected byte[] readBytes(Path path) throws IOException {
+        try (FileInputStream inputStream = new FileInputStream(path.toFile())) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    protected Flux<DataBuffer> readBuffers(Path path) {
+        return DataBufferUtils.read(path, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
+    }
+
+    @Override
+    public Path resolveFile(String fileRef) {
+        Path path = this.locate(fileRef);
+        if (path == null || !Files.isReadable(path)) {
+            logger.warn("Shared storage file {} is not readable", fileRef);
+            return null;
+        }
+        return path;
+    }
+
+    private Path locate(String fileRef) {
+        Path sharded = this.shardedPath(fileRef);
+        if (Files.isRegularFile(sharded)) return sharded;
+        Path flat = this.flatPath(fileRef);
+        if (Files.isRegularFile(flat)) return flat;
+        return null;
+    }
+
+    private Path shardedPath(String fileRef) {
+        if (fileRef.length() <= SHARD_PREFIX_LENGTH) return this.flatPath(fileRef);
+        return Paths.get(properties.getTransientPath(), fileRef.substring(0, SHARD_PREFIX_LENGTH), fileRef);
+    }
+
+    private Path flatPath(String fileRef) {
+        return Paths.get(properties.getTransientPath() + "/" + fileRef);
+    }
 }
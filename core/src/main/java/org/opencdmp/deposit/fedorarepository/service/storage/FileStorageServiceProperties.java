@@ -2,16 +2,21 @@ package org.opencdmp.deposit.fedorarepository.service.storage;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "file.storage")
 public class FileStorageServiceProperties {
     private final String temp;
     private final String transientPath;
+    private final boolean contentAddressed;
+    private final Sweeper sweeper;
 
     @ConstructorBinding
-    public FileStorageServiceProperties(String temp, String transientPath) {
+    public FileStorageServiceProperties(String temp, String transientPath, boolean contentAddressed, @DefaultValue Sweeper sweeper) {
         this.temp = temp;
         this.transientPath = transientPath;
+        this.contentAddressed = contentAddressed;
+        this.sweeper = sweeper;
     }
 
     public String getTemp() {
@@ -21,4 +26,48 @@ public class FileStorageServiceProperties {
     public String getTransientPath() {
         return transientPath;
     }
+
+    public boolean isContentAddressed() {
+        return contentAddressed;
+    }
+
+    public Sweeper getSweeper() {
+        return sweeper;
+    }
+
+    public static class Sweeper {
+        private final long maxAgeMinutes;
+        private final long maxTotalSizeBytes;
+        private final long quotaMinAgeMinutes;
+        private final int maxDeletesPerRun;
+        private final long graceMinutes;
+
+        public Sweeper(@DefaultValue("1440") long maxAgeMinutes, @DefaultValue("0") long maxTotalSizeBytes, @DefaultValue("10") long quotaMinAgeMinutes, @DefaultValue("1000") int maxDeletesPerRun, @DefaultValue("10") long graceMinutes) {
+            this.maxAgeMinutes = maxAgeMinutes;
+            this.maxTotalSizeBytes = maxTotalSizeBytes;
+            this.quotaMinAgeMinutes = quotaMinAgeMinutes;
+            this.maxDeletesPerRun = maxDeletesPerRun;
+            this.graceMinutes = graceMinutes;
+        }
+
+        public long getMaxAgeMinutes() {
+            return maxAgeMinutes;
+        }
+
+        public long getMaxTotalSizeBytes() {
+            return maxTotalSizeBytes;
+        }
+
+        public long getQuotaMinAgeMinutes() {
+            return quotaMinAgeMinutes;
+        }
+
+        public int getMaxDeletesPerRun() {
+            return maxDeletesPerRun;
+        }
+
+        public long getGraceMinutes() {
+            return graceMinutes;
+        }
+    }
 }
@@ -0,0 +1,138 @@
+package org.opencdmp.deposit.fedorarepository.service.storage;
+
+import gr.cite.tools.logging.LoggerService;
+import gr.cite.tools.logging.MapLogEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(prefix = "file.storage.sweeper", name = "enabled", havingValue = "true")
+public class FileStorageSweeper {
+    private static final LoggerService logger = new LoggerService(LoggerFactory.getLogger(FileStorageSweeper.class));
+
+    private final FileStorageServiceProperties properties;
+    private final AtomicLong footprintBytes = new AtomicLong();
+    private final AtomicLong footprintFiles = new AtomicLong();
+    private final Counter reclaimedBytes;
+    private final Counter sweptFiles;
+
+    public FileStorageSweeper(FileStorageServiceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("file.storage.footprint.bytes", this.footprintBytes, AtomicLong::get).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("file.storage.footprint.files", this.footprintFiles, AtomicLong::get).register(meterRegistry);
+        this.reclaimedBytes = Counter.builder("file.storage.reclaimed.bytes").baseUnit("bytes").register(meterRegistry);
+        this.sweptFiles = Counter.builder("file.storage.swept.files").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${file.storage.sweeper.interval-millis:300000}", initialDelayString = "${file.storage.sweeper.interval-millis:300000}")
+    public void sweep() {
+        FileStorageServiceProperties.Sweeper sweeper = this.properties.getSweeper();
+        Instant now = Instant.now();
+        Instant expiry = now.minus(Duration.ofMinutes(sweeper.getMaxAgeMinutes() + sweeper.getGraceMinutes()));
+        int budget = sweeper.getMaxDeletesPerRun();
+
+        List<StoredFile> files = this.list(this.properties.getTransientPath(), 2);
+        files.sort(Comparator.comparing(StoredFile::lastModified));
+        long total = files.stream().mapToLong(StoredFile::size).sum();
+        long count = files.size();
+        long reclaimed = 0;
+        int deleted = 0;
+
+        List<StoredFile> remaining = new ArrayList<>();
+        for (StoredFile file : files) {
+            if (deleted < budget && file.lastModified().isBefore(expiry) && this.delete(file, expiry)) {
+                deleted++;
+                reclaimed += file.size();
+                total -= file.size();
+                count--;
+            } else {
+                remaining.add(file);
+            }
+        }
+
+        long quota = sweeper.getMaxTotalSizeBytes();
+        if (quota > 0 && total > quota) {
+            Instant quotaCutoff = now.minus(Duration.ofMinutes(sweeper.getQuotaMinAgeMinutes()));
+            for (StoredFile file : remaining) {
+                if (total <= quota || deleted >= budget || !file.lastModified().isBefore(quotaCutoff)) break;
+                if (this.delete(file, quotaCutoff)) {
+                    deleted++;
+                    reclaimed += file.size();
+                    total -= file.size();
+                    count--;
+                }
+            }
+            if (total > quota) logger.warn(new MapLogEntry("Shared storage is over quota").And("footprint", total).And("quota", quota));
+        }
+
+        for (StoredFile file : this.list(this.properties.getTemp(), 1)) {
+            if (deleted >= budget) break;
+            if (file.lastModified().isBefore(expiry) && this.delete(file, expiry)) {
+                deleted++;
+                reclaimed += file.size();
+            }
+        }
+
+        this.footprintBytes.set(total);
+        this.footprintFiles.set(count);
+        this.reclaimedBytes.increment(reclaimed);
+        this.sweptFiles.increment(deleted);
+        if (deleted > 0) logger.info(new MapLogEntry("Swept shared storage").And("deleted", deleted).And("reclaimedBytes", reclaimed).And("footprint", total));
+    }
+
+    private List<StoredFile> list(String directory, int depth) {
+        List<StoredFile> files = new ArrayList<>();
+        if (directory == null) return files;
+        Path root = Paths.get(directory);
+        if (!Files.isDirectory(root)) return files;
+
+        try (Stream<Path> paths = Files.walk(root, depth)) {
+            paths.filter(Files::isRegularFile).forEach(path -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    files.add(new StoredFile(path, attributes.size(), attributes.lastModifiedTime().toInstant()));
+                } catch (IOException e) {
+                    logger.debug("Skipping shared storage file {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            logger.warn(new MapLogEntry("Failed to list shared storage").And("directory", directory).And("error", e.getMessage()));
+        }
+        return files;
+    }
+
+    private boolean delete(StoredFile file, Instant cutoff) {
+        try {
+            // a deduplicated store may have refreshed the file since it was listed
+            if (!Files.getLastModifiedTime(file.path()).toInstant().isBefore(cutoff)) return false;
+            return Files.deleteIfExists(file.path());
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            logger.warn(new MapLogEntry("Failed to delete shared storage file").And("path", file.path().toString()).And("error", e.getMessage()));
+            return false;
+        }
+    }
+
+    private record StoredFile(Path path, long size, Instant lastModified) {
+    }
+}
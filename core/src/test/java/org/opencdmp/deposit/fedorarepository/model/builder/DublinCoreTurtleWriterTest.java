@@ -0,0 +1,71 @@
+package org.opencdmp.deposit.fedorarepository.model.builder;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.vocabulary.DC;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DublinCoreTurtleWriterTest {
+
+    private static final String BASE = "http://localhost/rest/plan";
+
+    @Test
+    void emptyStatementsMatchJena() {
+        DublinCoreStatements statements = new DublinCoreStatements();
+
+        Model direct = parse(DublinCoreTurtleWriter.write(statements));
+
+        assertTrue(direct.isEmpty());
+        assertIsomorphic(statements);
+    }
+
+    @Test
+    void multiValuedPropertiesMatchJena() {
+        DublinCoreStatements statements = new DublinCoreStatements();
+        statements.add(DC.title, "Data management plan");
+        statements.add(DC.creator, "Jane Doe");
+        statements.add(DC.creator, "John Roe");
+        statements.add(DC.creator, "Jane Doe");
+        statements.add(DC.subject, "Biology");
+        statements.add(DC.subject, "Ecology");
+        statements.add(DC.subject, null);
+
+        assertEquals(5, parse(DublinCoreTurtleWriter.write(statements)).size());
+        assertIsomorphic(statements);
+    }
+
+    @Test
+    void escapedLiteralsMatchJena() {
+        DublinCoreStatements statements = new DublinCoreStatements();
+        statements.add(DC.title, "A \"quoted\" title with a \\ backslash");
+        statements.add(DC.description, "line one\nline two\r\n\ttabbed");
+        statements.add(DC.description, "control \b\f\u0001\u007F characters");
+        statements.add(DC.rights, "Δεδομένα έρευνας © 2024");
+        statements.add(DC.coverage, "");
+        statements.add(DC.identifier, "https://example.org/explore-plans/overview/public/1?a=b&c=<d>");
+
+        assertIsomorphic(statements);
+    }
+
+    private static void assertIsomorphic(DublinCoreStatements statements) {
+        StringWriter jena = new StringWriter();
+        statements.toModel().write(jena, "TURTLE");
+
+        Model expected = parse(jena.toString());
+        Model actual = parse(DublinCoreTurtleWriter.write(statements));
+
+        assertTrue(expected.isIsomorphicWith(actual), () -> "Direct output differs from Jena output:\n" + DublinCoreTurtleWriter.write(statements) + "\n---\n" + jena);
+    }
+
+    private static Model parse(String turtle) {
+        Model model = ModelFactory.createDefaultModel();
+        model.read(new StringReader(turtle), BASE, "TURTLE");
+        return model;
+    }
+}
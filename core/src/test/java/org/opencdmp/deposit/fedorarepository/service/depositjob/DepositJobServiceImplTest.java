@@ -0,0 +1,135 @@
+package org.opencdmp.deposit.fedorarepository.service.depositjob;
+
+import gr.cite.tools.exception.MyApplicationException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraDepositService;
+import org.opencdmp.depositbase.repository.PlanDepositModel;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DepositJobServiceImplTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final RecordingStore store = new RecordingStore();
+    private DepositJobServiceImpl service;
+
+    @AfterEach
+    void shutdown() {
+        this.release.countDown();
+        if (this.service != null) this.service.destroy();
+    }
+
+    @Test
+    void rejectedJobsAreNotStored() throws Exception {
+        this.service = this.service(this.blockingDepositService());
+
+        DepositJob running = this.service.submit(new PlanDepositModel());
+        DepositJob queued = this.service.submit(new PlanDepositModel());
+        assertThrows(MyApplicationException.class, () -> this.service.submit(new PlanDepositModel()));
+
+        assertEquals(Set.of(running.getId(), queued.getId()), this.store.saved.keySet());
+    }
+
+    @Test
+    void submittedAndStoredJobsAreSnapshots() throws Exception {
+        FedoraDepositService depositService = mock(FedoraDepositService.class);
+        when(depositService.deposit(any(), any())).thenReturn("identifier");
+        this.service = this.service(depositService);
+
+        DepositJob submitted = this.service.submit(new PlanDepositModel());
+        DepositJob finished = this.awaitFinished(submitted.getId());
+
+        assertEquals(DepositJobStatus.Queued, submitted.getStatus());
+        assertNull(submitted.getIdentifier());
+        assertEquals(DepositJobStatus.Completed, finished.getStatus());
+        assertEquals("identifier", finished.getIdentifier());
+    }
+
+    @Test
+    void virtualThreadJobsBeyondTheBulkheadWaitForASlot() throws Exception {
+        // the deposit service rejects at once when its bulkhead is full, as it does with maxWaitMillis 0
+        Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom().maxConcurrentCalls(2).maxWaitDuration(Duration.ZERO).build());
+        FedoraDepositService depositService = mock(FedoraDepositService.class);
+        when(depositService.deposit(any(), any())).thenAnswer(invocation -> {
+            bulkhead.acquirePermission();
+            try {
+                Thread.sleep(20);
+                return "identifier";
+            } finally {
+                bulkhead.onComplete();
+            }
+        });
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of("spring.threads.virtual.enabled", true)));
+        this.service = new DepositJobServiceImpl(depositService, this.store, new DepositJobProperties(), bulkhead, environment);
+
+        List<UUID> jobs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) jobs.add(this.service.submit(new PlanDepositModel()).getId());
+
+        for (UUID id : jobs) {
+            DepositJob job = this.awaitFinished(id);
+            assertEquals(DepositJobStatus.Completed, job.getStatus(), job.getError());
+        }
+    }
+
+    private DepositJob awaitFinished(UUID id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            DepositJob job = this.service.get(id);
+            if (job.getStatus().isFinished()) return job;
+            Thread.sleep(10);
+        }
+        return fail("Job " + id + " did not finish");
+    }
+
+    private FedoraDepositService blockingDepositService() throws Exception {
+        FedoraDepositService depositService = mock(FedoraDepositService.class);
+        when(depositService.deposit(any(), any())).thenAnswer(invocation -> {
+            this.release.await();
+            return "identifier";
+        });
+        return depositService;
+    }
+
+    private DepositJobServiceImpl service(FedoraDepositService depositService) {
+        DepositJobProperties properties = new DepositJobProperties();
+        properties.setWorkerPoolSize(1);
+        properties.setQueueCapacity(1);
+        return new DepositJobServiceImpl(depositService, this.store, properties, Bulkhead.ofDefaults("test"), new StandardEnvironment());
+    }
+
+    private static class RecordingStore extends InMemoryDepositJobStore {
+        private final Map<UUID, DepositJob> saved = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(DepositJob job) {
+            this.saved.put(job.getId(), job);
+            super.save(job);
+        }
+
+        @Override
+        public void remove(UUID id) {
+            this.saved.remove(id);
+            super.remove(id);
+        }
+    }
+}
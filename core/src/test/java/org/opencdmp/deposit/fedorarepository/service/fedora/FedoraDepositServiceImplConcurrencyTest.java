@@ -0,0 +1,284 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opencdmp.commonmodels.models.FileEnvelopeModel;
+import org.opencdmp.commonmodels.models.plan.PlanModel;
+import org.opencdmp.commonmodels.models.plugin.PluginUserFieldModel;
+import org.opencdmp.deposit.fedorarepository.cache.LogoCacheService;
+import org.opencdmp.deposit.fedorarepository.model.builder.FedoraBuilder;
+import org.opencdmp.deposit.fedorarepository.service.storage.FileStorageService;
+import org.opencdmp.deposit.fedorarepository.service.storage.FileStorageServiceProperties;
+import org.opencdmp.depositbase.repository.DepositConfiguration;
+import org.opencdmp.depositbase.repository.PlanDepositModel;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// parallel deposits with distinct credentials share one WebClient; every request must carry the credentials and transaction of its own deposit
+class FedoraDepositServiceImplConcurrencyTest {
+
+    private static final int DEPOSITS = 32;
+    private static final String ATOMIC_ID = "Atomic-ID";
+    private static final String TRANSACTION_PATH = "/rest/fcr:tx/";
+
+    @TempDir
+    Path temp;
+
+    private MockWebServer server;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final Map<String, String> authorizationByTransaction = new ConcurrentHashMap<>();
+    private final Map<String, RecordedRequest> creationByContainer = new ConcurrentHashMap<>();
+    private final Queue<RecordedRequest> requests = new ConcurrentLinkedQueue<>();
+    private final Queue<String> refreshes = new ConcurrentLinkedQueue<>();
+    private volatile long uploadDelayMillis;
+    private long transactionRefreshMillis = 60000;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.add(request);
+                String path = Objects.requireNonNull(request.getPath());
+                // a small random delay makes requests from different deposits interleave on the shared connection pool
+                MockResponse response = new MockResponse().setHeadersDelay(ThreadLocalRandom.current().nextInt(0, 15), TimeUnit.MILLISECONDS);
+                if ("POST".equals(request.getMethod()) && path.endsWith("fcr:tx")) {
+                    String transaction = server.url(TRANSACTION_PATH + sequence.incrementAndGet()).toString();
+                    authorizationByTransaction.put(transaction, request.getHeader(HttpHeaders.AUTHORIZATION));
+                    return response.setResponseCode(201).setHeader(HttpHeaders.LOCATION, transaction);
+                }
+                if ("POST".equals(request.getMethod()) && path.startsWith(TRANSACTION_PATH)) {
+                    refreshes.add(path);
+                    return response.setResponseCode(204);
+                }
+                if ("PUT".equals(request.getMethod()) && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                    creationByContainer.put(path.substring(path.lastIndexOf('/') + 1), request);
+                    return response.setResponseCode(201);
+                }
+                if ("POST".equals(request.getMethod())) {
+                    String container = "c" + sequence.incrementAndGet();
+                    creationByContainer.put(container, request);
+                    return response.setResponseCode(201).setBody(server.url("/rest/" + container).toString());
+                }
+                if ("PUT".equals(request.getMethod()) && !path.startsWith(TRANSACTION_PATH)) response.setBodyDelay(uploadDelayMillis, TimeUnit.MILLISECONDS);
+                return response.setResponseCode(201);
+            }
+        });
+        this.server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        this.server.shutdown();
+    }
+
+    @Test
+    void parallelDepositsNeverMixCredentials() throws Exception {
+        Map<Integer, String> identifiers = this.depositConcurrently(this.service(false));
+
+        for (Map.Entry<Integer, String> deposit : identifiers.entrySet()) {
+            String expected = authorizationOf(deposit.getKey());
+            String container = deposit.getValue();
+
+            RecordedRequest creation = this.creationByContainer.get(container);
+            assertNotNull(creation, "No creation request for " + container);
+            assertEquals(expected, creation.getHeader(HttpHeaders.AUTHORIZATION));
+            assertNull(creation.getHeader(ATOMIC_ID));
+
+            List<RecordedRequest> uploads = this.requestsUnder(container);
+            assertEquals(3, uploads.size(), "Unexpected uploads for " + container);
+            for (RecordedRequest upload : uploads) {
+                assertEquals(expected, upload.getHeader(HttpHeaders.AUTHORIZATION), upload.getPath());
+                assertNull(upload.getHeader(ATOMIC_ID), upload.getPath());
+            }
+        }
+    }
+
+    @Test
+    void parallelTransactionalDepositsNeverMixCredentialsOrTransactions() throws Exception {
+        Map<Integer, String> identifiers = this.depositConcurrently(this.service(true));
+
+        assertEquals(DEPOSITS, this.authorizationByTransaction.size());
+        Set<String> transactions = new HashSet<>();
+        for (Map.Entry<Integer, String> deposit : identifiers.entrySet()) {
+            String expected = authorizationOf(deposit.getKey());
+            String container = deposit.getValue();
+
+            RecordedRequest creation = this.creationByContainer.get(container);
+            assertNotNull(creation, "No creation request for " + container);
+            assertEquals("PUT", creation.getMethod(), "Container " + container + " was not created with a client-chosen id");
+            String transaction = creation.getHeader(ATOMIC_ID);
+            assertNotNull(transaction, "Container " + container + " was created outside a transaction");
+            assertTrue(transactions.add(transaction), "Transaction " + transaction + " shared between deposits");
+            assertEquals(expected, this.authorizationByTransaction.get(transaction), "Transaction " + transaction + " begun with other credentials");
+            assertEquals(expected, creation.getHeader(HttpHeaders.AUTHORIZATION));
+
+            List<RecordedRequest> uploads = this.requestsUnder(container);
+            assertEquals(3, uploads.size(), "Unexpected uploads for " + container);
+            for (RecordedRequest upload : uploads) {
+                assertEquals(expected, upload.getHeader(HttpHeaders.AUTHORIZATION), upload.getPath());
+                assertEquals(transaction, upload.getHeader(ATOMIC_ID), upload.getPath());
+            }
+
+            RecordedRequest commit = this.requests.stream()
+                    .filter(x -> "PUT".equals(x.getMethod()) && transaction.equals(x.getRequestUrl().toString()))
+                    .findFirst().orElse(null);
+            assertNotNull(commit, "Transaction " + transaction + " was not committed");
+            assertEquals(expected, commit.getHeader(HttpHeaders.AUTHORIZATION));
+        }
+    }
+
+    @Test
+    void transactionsBeginAtTheRepositoryRootBelowACollectionUrl() throws Exception {
+        FedoraDepositServiceImpl service = this.service(true, "/rest/collection/");
+        try {
+            assertNotNull(service.deposit(planDepositModelOf(0)));
+        } finally {
+            service.destroy();
+        }
+
+        List<String> begun = this.requests.stream()
+                .filter(x -> "POST".equals(x.getMethod()) && Objects.requireNonNull(x.getPath()).endsWith("fcr:tx"))
+                .map(RecordedRequest::getPath)
+                .toList();
+        assertEquals(List.of("/rest/fcr:tx"), begun);
+    }
+
+    @Test
+    void transactionsAreRefreshedDuringLongUploads() throws Exception {
+        this.uploadDelayMillis = 300;
+        this.transactionRefreshMillis = 50;
+        FedoraDepositServiceImpl service = this.service(true);
+        try {
+            assertNotNull(service.deposit(planDepositModelOf(0)));
+        } finally {
+            service.destroy();
+        }
+
+        assertFalse(this.refreshes.isEmpty(), "Transaction was not refreshed during the uploads");
+    }
+
+    private Map<Integer, String> depositConcurrently(FedoraDepositServiceImpl service) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(DEPOSITS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Map<Integer, Future<String>> futures = new HashMap<>();
+            for (int i = 0; i < DEPOSITS; i++) {
+                int user = i;
+                futures.put(user, executor.submit(() -> {
+                    start.await();
+                    return service.deposit(planDepositModelOf(user));
+                }));
+            }
+            start.countDown();
+
+            Map<Integer, String> identifiers = new HashMap<>();
+            for (Map.Entry<Integer, Future<String>> future : futures.entrySet()) identifiers.put(future.getKey(), future.getValue().get(30, TimeUnit.SECONDS));
+            assertEquals(DEPOSITS, new HashSet<>(identifiers.values()).size());
+            return identifiers;
+        } finally {
+            executor.shutdownNow();
+            service.destroy();
+        }
+    }
+
+    private List<RecordedRequest> requestsUnder(String container) {
+        String prefix = "/rest/" + container + "/";
+        return this.requests.stream().filter(x -> Objects.requireNonNull(x.getPath()).startsWith(prefix)).toList();
+    }
+
+    private FedoraDepositServiceImpl service(boolean transactions) {
+        return this.service(transactions, "/rest/");
+    }
+
+    private FedoraDepositServiceImpl service(boolean transactions, String repositoryPath) {
+        DepositConfiguration depositConfiguration = mock(DepositConfiguration.class);
+        when(depositConfiguration.getRepositoryUrl()).thenReturn(this.server.url(repositoryPath).toString());
+        when(depositConfiguration.getUserConfigurationFields()).thenReturn(List.of());
+
+        FedoraServiceProperties properties = new FedoraServiceProperties();
+        properties.setDepositConfiguration(depositConfiguration);
+        properties.setUsername("system");
+        properties.setPassword("system");
+        properties.setMaxInMemorySizeInBytes(1024 * 1024);
+        properties.setParallelUpload(true);
+        properties.setTransactions(transactions);
+        properties.setTransactionRefreshMillis(this.transactionRefreshMillis);
+        properties.getRetry().getUploadBinary().setMaxRetries(0);
+
+        FedoraBuilder fedoraBuilder = mock(FedoraBuilder.class);
+        when(fedoraBuilder.build(any())).thenReturn("@prefix dc: <http://purl.org/dc/elements/1.1/> .\n\n<> dc:title \"plan\" .\n");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FileStorageServiceProperties storageProperties = new FileStorageServiceProperties(this.temp.toString(), this.temp.toString(), false,
+                new FileStorageServiceProperties.Sweeper(1440, 0, 10, 1000, 10));
+
+        return new FedoraDepositServiceImpl(properties, fedoraBuilder, mock(FileStorageService.class), new DefaultResourceLoader(), meterRegistry,
+                new DepositMetrics(meterRegistry), CircuitBreakerRegistry.ofDefaults(),
+                Bulkhead.of("test", BulkheadConfig.custom().maxConcurrentCalls(DEPOSITS).build()), mock(LogoCacheService.class),
+                new FedoraRequestCompressor(properties, meterRegistry),
+                new FedoraExternalContentStager(properties, storageProperties));
+    }
+
+    private static PlanDepositModel planDepositModelOf(int user) {
+        PlanModel planModel = mock(PlanModel.class);
+        FileEnvelopeModel pdf = fileOf("plan-" + user + ".pdf");
+        FileEnvelopeModel rdaJson = fileOf("plan-" + user + ".json");
+        FileEnvelopeModel supportingFiles = fileOf("plan-" + user + ".zip");
+        when(planModel.getPdfFile()).thenReturn(pdf);
+        when(planModel.getRdaJsonFile()).thenReturn(rdaJson);
+        when(planModel.getSupportingFilesZip()).thenReturn(supportingFiles);
+
+        PluginUserFieldModel username = mock(PluginUserFieldModel.class);
+        when(username.getCode()).thenReturn("fedora-username");
+        when(username.getTextValue()).thenReturn(usernameOf(user));
+        PluginUserFieldModel password = mock(PluginUserFieldModel.class);
+        when(password.getCode()).thenReturn("fedora-password");
+        when(password.getTextValue()).thenReturn(passwordOf(user));
+
+        PlanDepositModel planDepositModel = mock(PlanDepositModel.class, RETURNS_DEEP_STUBS);
+        when(planDepositModel.getPlanModel()).thenReturn(planModel);
+        when(planDepositModel.getAuthInfo().getAuthFields()).thenReturn(List.of(username, password));
+        return planDepositModel;
+    }
+
+    private static FileEnvelopeModel fileOf(String filename) {
+        FileEnvelopeModel file = mock(FileEnvelopeModel.class);
+        when(file.getFilename()).thenReturn(filename);
+        when(file.getFile()).thenReturn(filename.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String usernameOf(int user) {
+        return "user-" + user;
+    }
+
+    private static String passwordOf(int user) {
+        return "secret-" + user;
+    }
+
+    private static String authorizationOf(int user) {
+        return "Basic " + HttpHeaders.encodeBasicAuth(usernameOf(user), passwordOf(user), null);
+    }
+}
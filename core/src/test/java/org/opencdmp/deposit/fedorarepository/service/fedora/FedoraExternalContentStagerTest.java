@@ -0,0 +1,77 @@
+package org.opencdmp.deposit.fedorarepository.service.fedora;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opencdmp.deposit.fedorarepository.service.storage.FileStorageServiceProperties;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FedoraExternalContentStagerTest {
+
+    private static final String KEY = "0123456789abcdef";
+    private static final byte[] CONTENT = "staged content".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void stagedFileIsKeptUntilItsLastHolderReleasesIt() throws Exception {
+        FedoraExternalContentStager stager = this.stager(this.properties(this.temp.resolve("staging").toString(), "file:///staging/"));
+        Path staged = this.temp.resolve("staging").resolve(KEY);
+
+        assertEquals("file:///staging/" + KEY, stager.stage(new ByteArrayResource(CONTENT), KEY));
+        assertEquals("file:///staging/" + KEY, stager.stage(new ByteArrayResource(CONTENT), KEY));
+        assertArrayEquals(CONTENT, Files.readAllBytes(staged));
+
+        stager.release(KEY, true);
+        assertTrue(Files.exists(staged), "Staged file removed while another deposit still holds it");
+
+        stager.release(KEY, true);
+        assertFalse(Files.exists(staged));
+        assertFalse(Files.exists(this.temp.resolve("staging").resolve(KEY + ".lock")), "Lock file left behind by the last holder");
+    }
+
+    @Test
+    void stagingUriWithoutTrailingSlashIsNormalised() throws Exception {
+        FedoraExternalContentStager stager = this.stager(this.properties(this.temp.resolve("staging").toString(), "file:///staging"));
+
+        assertEquals("file:///staging/" + KEY, stager.stage(new ByteArrayResource(CONTENT), KEY));
+        stager.release(KEY, true);
+    }
+
+    @Test
+    void failedUploadsDoNotRemoveTheStagedFile() throws Exception {
+        FedoraExternalContentStager stager = this.stager(this.properties(this.temp.resolve("staging").toString(), "file:///staging/"));
+
+        stager.stage(new ByteArrayResource(CONTENT), KEY);
+        stager.release(KEY, false);
+
+        assertTrue(Files.exists(this.temp.resolve("staging").resolve(KEY)));
+        assertFalse(Files.exists(this.temp.resolve("staging").resolve(KEY + ".lock")));
+    }
+
+    @Test
+    void enabledWithoutStagingLocationFailsFast() {
+        assertThrows(IllegalStateException.class, () -> this.stager(this.properties(" ", "file:///staging/")));
+        assertThrows(IllegalStateException.class, () -> this.stager(this.properties(this.temp.toString(), null)));
+    }
+
+    private FedoraServiceProperties properties(String stagingPath, String stagingUri) {
+        FedoraServiceProperties properties = new FedoraServiceProperties();
+        properties.getExternalContent().setEnabled(true);
+        properties.getExternalContent().setStagingPath(stagingPath);
+        properties.getExternalContent().setStagingUri(stagingUri);
+        return properties;
+    }
+
+    private FedoraExternalContentStager stager(FedoraServiceProperties properties) {
+        FileStorageServiceProperties storageProperties = new FileStorageServiceProperties(this.temp.toString(), this.temp.toString(), false,
+                new FileStorageServiceProperties.Sweeper(1440, 0, 10, 1000, 10));
+        return new FedoraExternalContentStager(properties, storageProperties);
+    }
+}
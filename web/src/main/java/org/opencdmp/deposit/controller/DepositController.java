@@ -1,19 +1,40 @@
 package org.opencdmp.deposit.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import gr.cite.tools.auditing.AuditService;
 import gr.cite.tools.logging.LoggerService;
 import gr.cite.tools.logging.MapLogEntry;
 import org.opencdmp.commonmodels.models.plan.PlanModel;
 import org.opencdmp.deposit.fedorarepository.audit.AuditableAction;
+import org.opencdmp.deposit.fedorarepository.service.depositbatch.DepositBatchResult;
+import org.opencdmp.deposit.fedorarepository.service.depositbatch.DepositBatchService;
+import org.opencdmp.deposit.fedorarepository.service.depositjob.DepositJob;
+import org.opencdmp.deposit.fedorarepository.service.depositjob.DepositJobService;
 import org.opencdmp.depositbase.repository.DepositConfiguration;
 import org.opencdmp.deposit.fedorarepository.service.fedora.FedoraDepositService;
+import org.opencdmp.deposit.fedorarepository.service.fedora.RepositoryLogo;
 import org.opencdmp.depositbase.repository.PlanDepositModel;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.AbstractMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/deposit")
@@ -22,12 +43,21 @@ public class DepositController implements org.opencdmp.depositbase.repository.De
 
     private final FedoraDepositService depositClient;
 
+    private final DepositJobService depositJobService;
+
+    private final DepositBatchService depositBatchService;
+
     private final AuditService auditService;
 
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public DepositController(FedoraDepositService depositClient, AuditService auditService) {
+    public DepositController(FedoraDepositService depositClient, DepositJobService depositJobService, DepositBatchService depositBatchService, AuditService auditService, ObjectMapper objectMapper) {
         this.depositClient = depositClient;
+        this.depositJobService = depositJobService;
+        this.depositBatchService = depositBatchService;
 	    this.auditService = auditService;
+        this.objectMapper = objectMapper;
     }
 
     public String deposit(@RequestBody PlanDepositModel planDepositModel) throws Exception {
@@ -41,6 +71,71 @@ public class DepositController implements org.opencdmp.depositbase.repository.De
         return doiId;
     }
 
+    @PostMapping("/jobs")
+    public DepositJob submitDepositJob(@RequestBody PlanDepositModel planDepositModel) {
+        logger.debug(new MapLogEntry("submit deposit job " + PlanModel.class.getSimpleName()).And("planDepositModel", planDepositModel));
+
+        DepositJob job = this.depositJobService.submit(planDepositModel);
+
+        this.auditService.track(AuditableAction.Deposit_SubmitJob, Map.ofEntries(
+                new AbstractMap.SimpleEntry<String, Object>("planDepositModel", planDepositModel),
+                new AbstractMap.SimpleEntry<String, Object>("jobId", job.getId())
+        ));
+        return job;
+    }
+
+    @GetMapping("/jobs/{id}")
+    public DepositJob getDepositJob(@PathVariable("id") UUID id) {
+        logger.debug(new MapLogEntry("get deposit job").And("id", id));
+
+        DepositJob job = this.depositJobService.get(id);
+
+        this.auditService.track(AuditableAction.Deposit_GetJob, Map.ofEntries(
+                new AbstractMap.SimpleEntry<String, Object>("jobId", id)
+        ));
+        return job;
+    }
+
+    @PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> depositBatch(HttpServletRequest request) throws IOException {
+        logger.debug(new MapLogEntry("deposit batch " + PlanModel.class.getSimpleName()));
+
+        // a JSON array is unwrapped into its elements, NDJSON is read value by value, so plans are parsed only as deposits are started
+        MappingIterator<PlanDepositModel> deposits = this.objectMapper.readerFor(PlanDepositModel.class).readValues(request.getInputStream());
+
+        StreamingResponseBody body = outputStream -> {
+            long total = 0;
+            long failed = 0;
+            try (Stream<DepositBatchResult> results = this.depositBatchService.deposit(Flux.fromIterable(() -> deposits)).toStream(1)) {
+                for (DepositBatchResult result : (Iterable<DepositBatchResult>) results::iterator) {
+                    total++;
+                    if (result.getError() != null) failed++;
+                    // each plan is audited like a single deposit, before the line is written so a dropped client does not lose the entry
+                    this.auditService.track(AuditableAction.Deposit_Deposit, Map.ofEntries(
+                            new AbstractMap.SimpleEntry<String, Object>("depositBatchResult", result)
+                    ));
+                    this.writeLine(outputStream, result);
+                }
+            } catch (RuntimeException e) {
+                logger.error(e.getMessage(), e);
+                this.writeLine(outputStream, Map.of("error", "Batch aborted after " + total + " deposits: " + e.getMessage()));
+            } finally {
+                deposits.close();
+                this.auditService.track(AuditableAction.Deposit_DepositBatch, Map.ofEntries(
+                        new AbstractMap.SimpleEntry<String, Object>("total", total),
+                        new AbstractMap.SimpleEntry<String, Object>("failed", failed)
+                ));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) throws IOException {
+        outputStream.write(this.objectMapper.writeValueAsBytes(value));
+        outputStream.write('\n');
+        outputStream.flush();
+    }
+
     public String authenticate(@RequestParam("authToken") String code) {
         logger.debug(new MapLogEntry("authenticate " + PlanModel.class.getSimpleName()));
 
@@ -64,11 +159,20 @@ public class DepositController implements org.opencdmp.depositbase.repository.De
     public String getLogo() {
         logger.debug(new MapLogEntry("getLogo " + PlanModel.class.getSimpleName()));
 
-        String logo = depositClient.getLogo();
+        RepositoryLogo logo = depositClient.getLogoEntry();
+        if (logo == null) {
+            this.auditService.track(AuditableAction.Deposit_GetLogo);
+            return null;
+        }
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes && attributes.getResponse() != null) {
+            attributes.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            if (new ServletWebRequest(attributes.getRequest(), attributes.getResponse()).checkNotModified(logo.getETag())) return null;
+        }
 
         this.auditService.track(AuditableAction.Deposit_GetLogo);
 
-        return logo;
+        return logo.getLogo();
     }
 
 }
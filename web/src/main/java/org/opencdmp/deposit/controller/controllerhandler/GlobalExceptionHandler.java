@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import gr.cite.tools.exception.*;
 import gr.cite.tools.logging.LoggerService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -77,7 +79,7 @@ public class GlobalExceptionHandler {
 		Map<String, Object> result;
 		System.Logger.Level logLevel;
 
-		switch (exception){
+		switch (this.unwrapResilienceException(exception)){
 			case MyNotFoundException myNotFoundException -> {
 				logLevel = System.Logger.Level.DEBUG;
 				statusCode = HttpStatus.NOT_FOUND;
@@ -152,6 +154,20 @@ public class GlobalExceptionHandler {
 					);
 				}
 			}
+			case CallNotPermittedException callNotPermittedException -> {
+				logLevel = System.Logger.Level.WARNING;
+				statusCode = HttpStatus.SERVICE_UNAVAILABLE;
+				result = Map.ofEntries(
+						Map.entry("error", "Repository temporarily unavailable")
+				);
+			}
+			case BulkheadFullException bulkheadFullException -> {
+				logLevel = System.Logger.Level.WARNING;
+				statusCode = HttpStatus.SERVICE_UNAVAILABLE;
+				result = Map.ofEntries(
+						Map.entry("error", "Too many deposits in progress")
+				);
+			}
 			default ->  {
 				logLevel = System.Logger.Level.ERROR;
 				statusCode = HttpStatus.INTERNAL_SERVER_ERROR;
@@ -164,6 +180,17 @@ public class GlobalExceptionHandler {
 		return new HandledException(statusCode, serialization, logLevel);
 	}
 	
+	// breaker and bulkhead rejections keep their 503 even when they surface as the cause of another exception
+	private Exception unwrapResilienceException(Exception exception) {
+		Throwable cause = exception;
+		while (cause != null) {
+			if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) return (Exception) cause;
+			if (cause.getCause() == cause) break;
+			cause = cause.getCause();
+		}
+		return exception;
+	}
+
 	public static class HandledException{
 		public HttpStatus statusCode;
 		public String message;
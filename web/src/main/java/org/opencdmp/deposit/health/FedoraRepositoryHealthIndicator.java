@@ -0,0 +1,34 @@
+package org.opencdmp.deposit.health;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component("fedoraRepository")
+public class FedoraRepositoryHealthIndicator implements HealthIndicator {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final Bulkhead depositBulkhead;
+
+    public FedoraRepositoryHealthIndicator(CircuitBreakerRegistry circuitBreakerRegistry, Bulkhead depositBulkhead) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.depositBulkhead = depositBulkhead;
+    }
+
+    @Override
+    public Health health() {
+        boolean open = false;
+        Health.Builder builder = Health.unknown();
+        for (CircuitBreaker circuitBreaker : this.circuitBreakerRegistry.getAllCircuitBreakers()) {
+            CircuitBreaker.State state = circuitBreaker.getState();
+            if (state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN) open = true;
+            builder.withDetail(circuitBreaker.getName(), state.name());
+        }
+        builder.withDetail("availableDeposits", this.depositBulkhead.getMetrics().getAvailableConcurrentCalls());
+
+        return open ? builder.down().build() : builder.up().build();
+    }
+}